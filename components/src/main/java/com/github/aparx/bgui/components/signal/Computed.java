@@ -0,0 +1,108 @@
+package com.github.aparx.bgui.components.signal;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.function.Supplier;
+
+/**
+ * A value derived from signals and other computed values, that is only computed again once any
+ * of the values read by its computation changed.
+ * <p>A computed value is computed lazily, on the first read after a change. Every slot that read
+ * it is repainted once any of its dependencies changed, just as for a {@link Signal}.
+ * <p>This class is thread-safe.
+ *
+ * @param <T> the type of value
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 13:10
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class Computed<T> extends ReactiveSource {
+
+  /** The computed value currently being computed on this thread */
+  private static final ThreadLocal<@Nullable Computed<?>> current = new ThreadLocal<>();
+
+  private final Supplier<@Nullable T> computation;
+
+  private volatile @Nullable T value;
+
+  private volatile boolean stale = true;
+
+  /** Incremented whenever a dependency changed, guarded by {@code this} */
+  private long version;
+
+  private Computed(Supplier<@Nullable T> computation) {
+    this.computation = computation;
+  }
+
+  public static <T> Computed<T> of(Supplier<@Nullable T> computation) {
+    Preconditions.checkNotNull(computation, "Computation must not be null");
+    return new Computed<>(computation);
+  }
+
+  /** Returns the computed value currently being computed on this thread, if any */
+  static @Nullable Computed<?> current() {
+    return current.get();
+  }
+
+  /**
+   * Returns the computed value, computing it first if any dependency changed, and subscribes
+   * the reader to the next change.
+   *
+   * @return the computed value
+   * @see Signal#get()
+   */
+  public @Nullable T get() {
+    track();
+    if (!stale) return value;
+    long computedVersion;
+    synchronized (this) {
+      computedVersion = version;
+    }
+    // the computation runs without holding any lock, such that computed values depending on
+    // each other never deadlock, while concurrent reads may compute the value more than once
+    @Nullable T newValue;
+    @Nullable Computed<?> previous = current.get();
+    current.set(this);
+    try {
+      // dependencies subscribe this value again, while being read
+      newValue = computation.get();
+    } finally {
+      if (previous != null)
+        current.set(previous);
+      else
+        current.remove();
+    }
+    synchronized (this) {
+      // the value is only cached, if no dependency changed while computing
+      if (version == computedVersion) {
+        this.value = newValue;
+        this.stale = false;
+      }
+    }
+    return newValue;
+  }
+
+  /** Returns true if any dependency changed since the value was last computed */
+  public boolean isStale() {
+    return stale;
+  }
+
+  /** Marks this value as stale and repaints every slot that read it */
+  void markStale() {
+    synchronized (this) {
+      ++version;
+      stale = true;
+    }
+    notifyChanged();
+  }
+
+  @Override
+  public String toString() {
+    return "Computed{" + (stale ? "<stale>" : value) + '}';
+  }
+
+}
@@ -0,0 +1,74 @@
+package com.github.aparx.bgui.components.signal;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.render.RenderContext;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A readable state, that records who read it and notifies them once it changes.
+ * <p>Readers are either the slots of inventories, whose items read this source while being
+ * rendered, or computed values, that read this source while being computed. Subscriptions are
+ * one-shot: a change notifies and removes all subscribers, which subscribe again by reading
+ * this source anew. Inventories and computed values are referenced weakly.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 12:40
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+abstract class ReactiveSource {
+
+  /** Slots that read this source since the last change, guarded by {@code this} */
+  private final Map<CustomInventory, BitSet> slotSubscribers = new WeakHashMap<>();
+
+  /** Computed values that read this source since the last change, guarded by {@code this} */
+  private final Set<Computed<?>> computedSubscribers =
+      Collections.newSetFromMap(new WeakHashMap<>());
+
+  /** Subscribes the reader on the current thread, if any, to the next change */
+  protected final void track() {
+    @Nullable Computed<?> computed = Computed.current();
+    if (computed != null) {
+      // the computed value forwards the change to its own readers
+      synchronized (this) {
+        computedSubscribers.add(computed);
+      }
+      return;
+    }
+    @Nullable RenderContext context = RenderContext.current();
+    if (context == null) return;
+    synchronized (this) {
+      slotSubscribers.computeIfAbsent(context.getInventory(), (key) -> new BitSet())
+          .set(context.getSlot());
+    }
+  }
+
+  /** Notifies and removes all subscribers, invalidating every slot that read this source */
+  protected final void notifyChanged() {
+    Map<CustomInventory, BitSet> slots;
+    List<Computed<?>> computed;
+    synchronized (this) {
+      if (slotSubscribers.isEmpty() && computedSubscribers.isEmpty()) return;
+      // strongly referenced copies, such that no subscriber is collected while notified
+      slots = new HashMap<>(slotSubscribers);
+      computed = new ArrayList<>(computedSubscribers);
+      slotSubscribers.clear();
+      computedSubscribers.clear();
+    }
+    slots.forEach(CustomInventory::invalidate);
+    for (Computed<?> value : computed)
+      value.markStale();
+  }
+
+}
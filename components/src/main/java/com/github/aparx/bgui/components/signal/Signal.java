@@ -0,0 +1,94 @@
+package com.github.aparx.bgui.components.signal;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A mutable value, that repaints every slot that read it, once it changes.
+ * <p>Items read a signal through {@link #get()} within their item factory. The renderer records
+ * which slots of which inventories read the signal, such that setting a different value
+ * invalidates exactly those slots, which are rendered in the next tick. Thus, no inventory has
+ * to poll for a changed value. Signals can also be read by {@link Computed} values.
+ * <p>This class is thread-safe.
+ *
+ * <pre>{@code
+ * Signal<Integer> balance = Signal.of(0);
+ * layer.set(4, new MutableInventoryItem((accessor) -> createBalanceItem(balance.get())));
+ * balance.set(100); // repaints slot 4 of every inventory showing it
+ * }</pre>
+ *
+ * @param <T> the type of value
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 12:55
+ * @see com.github.aparx.bgui.core.render.RenderContext
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class Signal<T> extends ReactiveSource {
+
+  private volatile @Nullable T value;
+
+  private Signal(@Nullable T value) {
+    this.value = value;
+  }
+
+  public static <T> Signal<T> of(@Nullable T value) {
+    return new Signal<>(value);
+  }
+
+  /**
+   * Returns the current value and subscribes the reader to the next change, if this signal is
+   * read while an item is rendered or a computed value is computed.
+   *
+   * @return the current value
+   */
+  public @Nullable T get() {
+    track();
+    return value;
+  }
+
+  /** Returns the current value, without subscribing the reader to changes */
+  public @Nullable T peek() {
+    return value;
+  }
+
+  /**
+   * Updates the value and notifies all readers, if {@code value} differs from the current value.
+   *
+   * @param value the new value
+   */
+  public void set(@Nullable T value) {
+    synchronized (this) {
+      if (Objects.equals(this.value, value)) return;
+      this.value = value;
+    }
+    notifyChanged();
+  }
+
+  /**
+   * Atomically replaces the current value with the result of {@code function}.
+   *
+   * @param function the function applied to the current value
+   * @see #set(Object)
+   */
+  public void update(UnaryOperator<@Nullable T> function) {
+    Preconditions.checkNotNull(function, "Function must not be null");
+    synchronized (this) {
+      @Nullable T newValue = function.apply(value);
+      if (Objects.equals(value, newValue)) return;
+      this.value = newValue;
+    }
+    notifyChanged();
+  }
+
+  @Override
+  public String toString() {
+    return "Signal{" + value + '}';
+  }
+
+}
@@ -0,0 +1,79 @@
+import com.github.aparx.bgui.components.signal.Computed;
+import com.github.aparx.bgui.components.signal.Signal;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-15 14:30
+ * @since 2.1
+ */
+public class TestSignal {
+
+  @Test
+  public void testComputedIsLazyAndCached() {
+    Signal<Integer> signal = Signal.of(1);
+    AtomicInteger computations = new AtomicInteger();
+    Computed<Integer> computed = Computed.of(() -> {
+      computations.incrementAndGet();
+      return signal.get() * 2;
+    });
+    Assert.assertEquals(0, computations.get());
+    Assert.assertEquals(Integer.valueOf(2), computed.get());
+    Assert.assertEquals(Integer.valueOf(2), computed.get());
+    Assert.assertEquals(1, computations.get());
+    signal.set(2);
+    Assert.assertTrue(computed.isStale());
+    Assert.assertEquals(1, computations.get());
+    Assert.assertEquals(Integer.valueOf(4), computed.get());
+    Assert.assertEquals(2, computations.get());
+  }
+
+  @Test
+  public void testEqualValueDoesNotNotify() {
+    Signal<String> signal = Signal.of("a");
+    Computed<String> computed = Computed.of(signal::get);
+    computed.get();
+    signal.set("a");
+    Assert.assertFalse(computed.isStale());
+    signal.update((value) -> value + "b");
+    Assert.assertTrue(computed.isStale());
+    Assert.assertEquals("ab", computed.get());
+  }
+
+  @Test
+  public void testChangesPropagateThroughComputed() {
+    Signal<Integer> signal = Signal.of(1);
+    Computed<Integer> doubled = Computed.of(() -> signal.get() * 2);
+    Computed<Integer> incremented = Computed.of(() -> doubled.get() + 1);
+    Assert.assertEquals(Integer.valueOf(3), incremented.get());
+    signal.set(5);
+    Assert.assertTrue(doubled.isStale());
+    Assert.assertTrue(incremented.isStale());
+    Assert.assertEquals(Integer.valueOf(11), incremented.get());
+  }
+
+  @Test
+  public void testPeekDoesNotSubscribe() {
+    Signal<Integer> signal = Signal.of(1);
+    Computed<Integer> computed = Computed.of(signal::peek);
+    computed.get();
+    signal.set(2);
+    Assert.assertFalse(computed.isStale());
+  }
+
+  @Test
+  public void testChangeWhileComputingIsNotCached() {
+    Signal<Integer> signal = Signal.of(1);
+    Computed<Integer> computed = Computed.of(() -> {
+      int value = signal.get();
+      signal.set(value + 1);
+      return value;
+    });
+    Assert.assertEquals(Integer.valueOf(1), computed.get());
+    Assert.assertTrue(computed.isStale());
+  }
+
+}
@@ -1,32 +1,58 @@
 package com.github.aparx.bgui.core;
 
+import com.github.aparx.bgui.core.content.InventoryContentListener;
 import com.github.aparx.bgui.core.content.InventoryContentView;
 import com.github.aparx.bgui.core.dimension.InventoryDimensions;
+import com.github.aparx.bgui.core.dimension.InventoryPosition;
+import com.github.aparx.bgui.core.dimension.InventorySection;
+import com.github.aparx.bgui.core.provider.AsyncInventoryProvider;
+import com.github.aparx.bgui.core.provider.IncrementalInventoryProvider;
+import com.github.aparx.bgui.core.provider.InventoryPatch;
 import com.github.aparx.bgui.core.provider.InventoryProvider;
+import com.github.aparx.bgui.core.render.InventoryFrame;
+import com.github.aparx.bgui.core.render.InventorySlotTable;
+import com.github.aparx.bgui.core.render.PreparedFrame;
+import com.github.aparx.bgui.core.render.RenderContext;
+import com.github.aparx.bgui.core.scheduler.InventoryUpdateScheduler;
+import com.github.aparx.bgui.core.scheduler.ScheduledInventoryUpdate;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.github.aparx.bommons.core.WeakHashSet;
 import com.github.aparx.bgui.core.item.InventoryItem;
 import com.github.aparx.bgui.core.item.InventoryItemAccessor;
+import com.github.aparx.bgui.core.item.InventoryItemListener;
+import com.github.aparx.bgui.core.item.MutableInventoryItem;
 import com.github.aparx.bommons.ticks.TickDuration;
 import com.github.aparx.bommons.ticks.ticker.DefaultTicker;
 import com.github.aparx.bommons.ticks.ticker.Ticker;
 import org.apache.commons.lang3.ArrayUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.event.HandlerList;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -39,21 +65,91 @@ public class CustomInventory implements InventoryItemAccessor {
 
   private final transient Object lock = new Object();
 
+  /**
+   * @deprecated events are handled by the listener shared per plugin, which is registered once
+   * this inventory is shown, see {@link CustomInventoryListener#register(Plugin)}. This listener
+   * is only bound to this inventory and handles no events itself.
+   */
+  @Deprecated
+  protected final CustomInventoryListener listener;
+
   private final Plugin plugin;
   private final TickDuration updateInterval;
   /** Similar to Bukkit's viewer list, this is for internal registry only */
   private final WeakHashSet<Player> viewers = new WeakHashSet<>();
   private final Ticker updateTicker;
 
-  /** Current update task running for all viewers */
-  protected @Nullable BukkitTask task;
+  /** Current periodic update of this inventory, null if not started or rendered on demand */
+  protected @Nullable ScheduledInventoryUpdate task;
+  /** True if this inventory is shown and its listener is registered */
+  private volatile boolean started;
   protected @Nullable Inventory inventory;
+  /** Shadow of the item stacks last written to {@code inventory}, used for diff rendering */
+  protected @Nullable InventoryFrame frame;
+
+  private volatile boolean diffRendering;
+
+  private volatile InventoryRenderMode renderMode = InventoryRenderMode.PERIODIC;
+
+  private volatile InventoryUpdatePriority updatePriority = InventoryUpdatePriority.NORMAL;
+
+  /** Slots invalidated since the last render, guarded by itself */
+  private final BitSet dirtySlots = new BitSet();
+  /** True if the entire inventory is invalidated, guarded by {@code dirtySlots} */
+  private boolean dirtyAll;
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  /** Mutations posted by any thread, applied by the main thread at the beginning of renders */
+  private final Queue<Consumer<? super CustomInventory>> mailbox = new ConcurrentLinkedQueue<>();
+
+  /** The scheduler tick at which a viewer last clicked, negative if no viewer clicked yet */
+  private volatile long lastInteraction = -1;
+
+  /** The scheduler tick at which this inventory was last shown or clicked in */
+  private volatile long lastActivity;
+
+  /** The time without any click, after which the inventory is throttled, null to never */
+  private volatile @Nullable TickDuration idleTimeout;
+
+  private volatile TickDuration idleInterval = TickDuration.ofNil();
 
   private @Nullable InventoryContentView content;
+  /** Flat slot to item table of the content, only recompiled on structural changes */
+  private final InventorySlotTable slotTable = new InventorySlotTable();
+
+  /** Item stacks prepared for the next full render, main thread only */
+  private @Nullable PreparedFrame preparedFrame;
+  private long preparedTick;
+
+  /** Listeners of the displayed views and items, strongly referenced as they are held weakly */
+  private final InventoryContentListener contentListener = this::onContentChanged;
+  private final InventoryItemListener itemListener = this::onItemChanged;
+  /** The views that {@code contentListener} is registered at, guarded by itself */
+  private final List<InventoryContentView> listenedViews = new ArrayList<>();
+
+  /** Slots that depend on each tag of the compiled content, replaced on every compilation */
+  private volatile Map<String, BitSet> tagSlots = Collections.emptyMap();
+
+  /** The scheduler tick at which each slot is due for its next periodic refresh */
+  private long[] slotDeadlines = new long[0];
+
   private @Nullable InventoryProvider provider;
+
+  /** Sequence of the last requested and last committed asynchronous update, main thread only */
+  private long updateSequence, committedSequence;
+  /** The provider of the asynchronous update currently in flight, main thread only */
+  private @Nullable AsyncInventoryProvider pendingProvider;
+  /** True if an update was requested while another one was in flight, main thread only */
+  private boolean updateRequested;
   private @Nullable String title;
 
-  protected final CustomInventoryListener listener = new CustomInventoryListener(this);
+  /** The holder of the Bukkit inventory of this inventory, replaced when navigated away */
+  protected CustomInventoryHolder holder = new CustomInventoryHolder(this);
+
+  /** The title with which the current Bukkit inventory was created */
+  private @Nullable String inventoryTitle;
+
+  private volatile @Nullable InventoryPool pool;
 
   public CustomInventory(Plugin plugin) {
     this(plugin, null);
@@ -70,6 +166,7 @@ public class CustomInventory implements InventoryItemAccessor {
     this.updateInterval = updateInterval;
     this.updateTicker = new DefaultTicker(updateInterval);
     this.title = title;
+    this.listener = new CustomInventoryListener(this);
   }
 
   /** Returns the current internal content, provided by the {@code InventoryProvider} */
@@ -86,7 +183,11 @@ public class CustomInventory implements InventoryItemAccessor {
   }
 
   public final void update() {
-    if (render(updateTicker.tick() > 1))
+    updateTicker.tick();
+    @Nullable InventoryProvider provider = this.provider;
+    if (provider instanceof IncrementalInventoryProvider
+        ? renderPatch((IncrementalInventoryProvider) provider)
+        : renderContent(true))
       updateTicker.reset();
   }
 
@@ -133,20 +234,76 @@ public class CustomInventory implements InventoryItemAccessor {
     synchronized (lock) {
       if (inventory == null)
         createInventory(getTitle());
-      int viewerCount = 0;
       boolean success = false;
       for (Player viewer : viewers) {
         Preconditions.checkNotNull(viewer, "Viewer is null");
-        success |= this.viewers.add(viewer);
-        viewer.openInventory(inventory);
-        ++viewerCount;
+        // the open event of the listener already adds the viewer while opening
+        boolean added = !this.viewers.contains(viewer);
+        // a null view implies that the opening was cancelled
+        if (viewer.openInventory(inventory) != null) {
+          this.viewers.add(viewer);
+          success |= added;
+        }
       }
-      if (viewerCount != 0)
+      if (!this.viewers.isEmpty())
         start();
       return success;
     }
   }
 
+  /**
+   * Shows this inventory to {@code viewers}, while opening it for at most {@code maxPerTick}
+   * viewers per tick.
+   * <p>Opening an inventory for many players at once (for example when broadcasting a menu) is
+   * costly, thus this method spreads the opening over multiple ticks. The first viewers are
+   * shown this inventory immediately, while the remaining ones are shown in subsequent ticks.
+   * Viewers that went offline in the meantime are skipped.
+   *
+   * @param viewers    the viewers to show this inventory to
+   * @param maxPerTick the maximum number of viewers to open this inventory for per tick
+   * @return the future, that is completed once this inventory was opened for every viewer,
+   * with true if any viewer was added, like {@link #show(Iterable)}
+   * @since 2.1
+   */
+  public CompletableFuture<Boolean> show(Iterable<? extends Player> viewers, int maxPerTick) {
+    return show(viewers, maxPerTick, InventoryUpdateScheduler.of(plugin)::execute);
+  }
+
+  /**
+   * Shows this inventory to {@code viewers}, at most {@code maxPerTick} at once, while each
+   * subsequent batch is submitted to {@code nextTick}.
+   */
+  CompletableFuture<Boolean> show(Iterable<? extends Player> viewers, int maxPerTick,
+                                  Executor nextTick) {
+    Preconditions.checkNotNull(viewers, "Viewers must not be null");
+    Preconditions.checkArgument(maxPerTick > 0, "Maximum per tick must be positive");
+    Preconditions.checkNotNull(nextTick, "Executor must not be null");
+    Deque<Player> pending = new ArrayDeque<>();
+    viewers.forEach((viewer) -> pending.add(Preconditions.checkNotNull(viewer, "Viewer is null")));
+    CompletableFuture<Boolean> future = new CompletableFuture<>();
+    showThrottled(pending, maxPerTick, nextTick, false, future);
+    return future;
+  }
+
+  private void showThrottled(Deque<Player> pending, int maxPerTick, Executor nextTick,
+                             boolean success, CompletableFuture<Boolean> future) {
+    try {
+      List<Player> batch = new ArrayList<>(Math.min(pending.size(), maxPerTick));
+      while (batch.size() < maxPerTick && !pending.isEmpty()) {
+        Player viewer = pending.poll();
+        if (viewer.isOnline()) batch.add(viewer);
+      }
+      boolean batchSuccess = success | (!batch.isEmpty() && show(batch));
+      if (pending.isEmpty()) {
+        future.complete(batchSuccess);
+        return;
+      }
+      nextTick.execute(() -> showThrottled(pending, maxPerTick, nextTick, batchSuccess, future));
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
   @CanIgnoreReturnValue
   public boolean show(Player viewer) {
     Preconditions.checkNotNull(viewer, "Viewer must not be null");
@@ -155,13 +312,76 @@ public class CustomInventory implements InventoryItemAccessor {
 
   @CanIgnoreReturnValue
   public boolean close(Player viewer) {
+    boolean removed;
+    synchronized (lock) {
+      removed = viewers.remove(viewer);
+    }
     if (viewer.getOpenInventory().getTopInventory().equals(inventory))
       viewer.closeInventory();
+    if (removed)
+      revalidateTask();
+    return removed;
+  }
+
+  /**
+   * Navigates all viewers of this inventory to {@code target}.
+   * <p>If {@code target} is not shown, belongs to the same plugin and its content has the same
+   * size and title as this inventory, the open Bukkit inventory is handed over to
+   * {@code target} and its contents are rewritten in place. This avoids reopening the window for
+   * every viewer, including the round trip to the client and the reset of their cursor.
+   * Otherwise, {@code target} is simply shown to all viewers.
+   * <p>This inventory is stopped afterwards, since it has no viewer left.
+   *
+   * @param target the inventory to navigate to
+   * @return true if any viewer was navigated
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public boolean navigate(CustomInventory target) {
+    Preconditions.checkNotNull(target, "Target must not be null");
+    Preconditions.checkArgument(target != this, "Cannot navigate to itself");
+    List<Player> navigated;
     synchronized (lock) {
-      if (!viewers.remove(viewer))
+      navigated = new ArrayList<>(viewers);
+      if (navigated.isEmpty())
         return false;
-      revalidateTask();
-      return true;
+      @Nullable Inventory inventory = this.inventory;
+      if (inventory != null && isReusableBy(target, inventory)) {
+        // the frame only reflects the inventory with diff rendering, as it is not updated otherwise
+        target.adopt(inventory, holder, (diffRendering ? frame : null), inventoryTitle, navigated);
+        this.holder = new CustomInventoryHolder(this);
+        this.inventory = null;
+        this.frame = null;
+        stop();
+        return true;
+      }
+    }
+    // this inventory is stopped through the close events of all viewers
+    return target.show(navigated);
+  }
+
+  private boolean isReusableBy(CustomInventory target, Inventory inventory) {
+    @Nullable InventoryContentView targetContent = target.content;
+    return !target.started && plugin.equals(target.plugin) && targetContent != null
+        && targetContent.getDimensions().size() == inventory.getSize()
+        && Objects.equals(getTitle(), target.getTitle());
+  }
+
+  /** Takes over {@code inventory} that is already opened by {@code viewers} */
+  private void adopt(Inventory inventory, CustomInventoryHolder holder,
+                     @Nullable InventoryFrame frame, @Nullable String inventoryTitle,
+                     List<Player> viewers) {
+    synchronized (lock) {
+      holder.setOwner(this);
+      this.holder = holder;
+      this.inventory = inventory;
+      // the inventory keeps the title it was created with, which determines its pool key
+      this.inventoryTitle = inventoryTitle;
+      // the shadow still matches the inventory, such that only changed slots are written
+      this.frame = (frame != null ? frame : new InventoryFrame(inventory.getSize()));
+      this.viewers.addAll(viewers);
+      start();
+      render();
     }
   }
 
@@ -171,32 +391,68 @@ public class CustomInventory implements InventoryItemAccessor {
     }
   }
 
+  /**
+   * Renders this inventory and returns true if the update task is stopped, which is the case if
+   * no viewer is viewing this inventory anymore.
+   *
+   * @return true if the internal updating task is stopped, false if not
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public boolean render() {
+    return renderContent(false);
+  }
+
   /**
    * Renders this inventory and returns true if the update task is stopped
    *
-   * @param checkForViewers if true, checks for the number of viewers and returns true
-   *                        (implies stop) if there is no viewer is viewing this inventory anymore
+   * @param checkForViewers ignored, since viewers are tracked through events, such that this
+   *                        inventory is always stopped once no viewer is left
    * @return true if the internal updating task is stopped, false if not
+   * @deprecated viewers are no longer polled, use {@link #render()} instead
    */
+  @Deprecated
   @CanIgnoreReturnValue
   public boolean render(boolean checkForViewers) {
+    return render();
+  }
+
+  /**
+   * Renders this inventory and returns true if the update task is stopped.
+   * <p>If {@code periodic} is true, only slots whose item is due for a refresh are rendered,
+   * along with all invalidated slots and slots that changed structurally.
+   *
+   * @param periodic true if this render is a periodic update, that respects refresh periods
+   * @see InventoryItem#getRefreshPeriod()
+   */
+  private boolean renderContent(boolean periodic) {
+    drainMailbox();
     if (revalidateTask()) return true;
     if (provider == null) return false;
-    if (content != null && inventory != null)
-      content.getArea().forEach((position) -> {
-        @Nullable InventoryItem item = content.get(this, position);
-        inventory.setItem(position.getIndex(), (item != null ? item.get(this) : null));
-      });
-    if (checkForViewers) {
-      List<Player> removeViewers = new ArrayList<>(0);
-      viewers.forEach((viewer) -> {
-        Inventory topInventory = viewer.getOpenInventory().getTopInventory();
-        if (!Objects.equals(topInventory, inventory))
-          removeViewers.add(viewer);
-      });
-      removeViewers.forEach(viewers::remove);
-      if (viewers.isEmpty())
-        return stop();
+    BitSet forcedSlots = new BitSet();
+    boolean forceAll = takeInvalidation(forcedSlots) || !periodic;
+    @Nullable PreparedFrame prepared = takePreparedFrame();
+    if (content != null && inventory != null) {
+      revalidateSlotTable(content);
+      slotTable.drainChanges(forcedSlots);
+      int length = Math.min(slotTable.size(), inventory.getSize());
+      long tick = InventoryUpdateScheduler.of(plugin).getTick();
+      if (slotDeadlines.length != length)
+        slotDeadlines = new long[length];
+      for (int slot = 0; slot < length; ++slot) {
+        if (!forceAll && !forcedSlots.get(slot) && tick < slotDeadlines[slot])
+          continue; // the slot's item is not yet due for a refresh
+        @Nullable InventoryItem item = slotTable.get(slot);
+        slotDeadlines[slot] = getRefreshDeadline(item, tick);
+        if (prepared != null && prepared.isPrepared(slot, item))
+          renderSlot(slot, prepared.getStack(slot));
+        else
+          renderSlot(slot, (item != null ? RenderContext.render(item, this, slot) : null));
+      }
+    }
+    if (provider instanceof AsyncInventoryProvider) {
+      requestUpdate((AsyncInventoryProvider) provider);
+      return false;
     }
     InventoryContentView newContent = provider.update(this);
     Preconditions.checkNotNull(newContent, "Provider return null as content at update");
@@ -205,6 +461,497 @@ public class CustomInventory implements InventoryItemAccessor {
     return false;
   }
 
+  /**
+   * Updates {@code provider} and renders only what the returned patch reports as changed.
+   *
+   * @return true if the internal updating task is stopped, false if not
+   * @see IncrementalInventoryProvider
+   */
+  private boolean renderPatch(IncrementalInventoryProvider provider) {
+    // posted messages are applied before the patch, as they are before a full render
+    drainMailbox();
+    if (revalidateTask()) return true;
+    InventoryPatch patch = provider.updatePatch(this);
+    Preconditions.checkNotNull(patch, "Provider returned null as patch at update");
+    @Nullable InventoryContentView newContent = patch.getContent();
+    if (newContent == null)
+      // structural changes of the content are rendered regardless of the patch
+      return render(patch.toSlots(getWidth()));
+    if (reassignContent(newContent, title))
+      createInventory(title);
+    else
+      render();
+    return false;
+  }
+
+  /**
+   * Prepares the next full render of this inventory, by capturing all concurrent items.
+   * <p>This method must be called on the main thread. The returned task computes the item
+   * stacks of the captured items and may be run on any thread. If the next full render is done
+   * within the same tick, it uses those prepared item stacks and only has to apply them.
+   *
+   * @return the task that computes the prepared item stacks, or null if there is nothing to
+   * prepare
+   * @see InventoryItem#isConcurrent()
+   * @since 2.1
+   */
+  public @Nullable Runnable prepareRender() {
+    @Nullable InventoryContentView content = this.content;
+    if (content == null || inventory == null) return null;
+    // incremental providers do not render every slot on update
+    if (provider instanceof IncrementalInventoryProvider) return null;
+    revalidateSlotTable(content);
+    long tick = InventoryUpdateScheduler.of(plugin).getTick();
+    long[] slotDeadlines = this.slotDeadlines;
+    @Nullable PreparedFrame prepared = PreparedFrame.capture(slotTable, inventory.getSize(),
+        (slot) -> slot >= slotDeadlines.length || tick >= slotDeadlines[slot]);
+    this.preparedFrame = prepared;
+    this.preparedTick = tick;
+    return (prepared != null ? () -> prepared.compute(this) : null);
+  }
+
+  /** Returns and removes the prepared frame, if it was prepared within the current tick */
+  private @Nullable PreparedFrame takePreparedFrame() {
+    @Nullable PreparedFrame prepared = this.preparedFrame;
+    if (prepared == null) return null;
+    this.preparedFrame = null;
+    // frames prepared in previous ticks may be outdated, for example animations
+    return (preparedTick == InventoryUpdateScheduler.of(plugin).getTick() ? prepared : null);
+  }
+
+  /**
+   * Requests updated content from {@code provider}, that is committed on the main thread once
+   * completed, while the current content is kept rendered until then.
+   * <p>At most one request per provider is in flight. Requests made in the meantime are
+   * coalesced into a single request, that is issued once the pending one completed.
+   *
+   * @param provider the provider to request the content from
+   */
+  private void requestUpdate(AsyncInventoryProvider provider) {
+    if (pendingProvider == provider) {
+      updateRequested = true;
+      return;
+    }
+    long sequence = ++updateSequence;
+    CompletableFuture<InventoryContentView> future = provider.updateAsync(this);
+    Preconditions.checkNotNull(future, "Provider returned null as future at update");
+    this.pendingProvider = provider;
+    this.updateRequested = false;
+    future.whenComplete((newContent, throwable) -> InventoryUpdateScheduler.of(plugin)
+        .execute(() -> completeUpdate(provider, sequence, newContent, throwable)));
+  }
+
+  /** Completes a requested update and issues the coalesced request, if any was made */
+  private void completeUpdate(AsyncInventoryProvider provider, long sequence,
+                              @Nullable InventoryContentView newContent,
+                              @Nullable Throwable throwable) {
+    if (pendingProvider == provider)
+      this.pendingProvider = null;
+    if (throwable != null)
+      plugin.getLogger().log(Level.SEVERE, "Exception in asynchronous provider", throwable);
+    else
+      commitUpdate(provider, sequence, newContent);
+    if (updateRequested && pendingProvider == null) {
+      this.updateRequested = false;
+      if (started && provider == this.provider)
+        requestUpdate(provider);
+    }
+  }
+
+  /**
+   * Commits the content of an asynchronous update, unless it is stale.
+   * <p>A result is stale, if the provider was replaced in the meantime, or if the result of a
+   * more recent request was committed already.
+   */
+  private void commitUpdate(AsyncInventoryProvider provider,
+                            long sequence, @Nullable InventoryContentView newContent) {
+    Preconditions.checkNotNull(newContent, "Provider returned null as content at update");
+    if (provider != this.provider || sequence <= committedSequence)
+      return;
+    committedSequence = sequence;
+    if (!started) {
+      reassignContent(newContent, title);
+      return;
+    }
+    if (reassignContent(newContent, title)) {
+      createInventory(title);
+    } else if (inventory != null) {
+      // render the new content without requesting yet another update
+      BitSet slots = new BitSet();
+      slots.set(0, inventory.getSize());
+      render(slots);
+    }
+  }
+
+  /**
+   * Renders only the given {@code slots} and returns true if the update task is stopped.
+   * <p>In addition to {@code slots}, every slot whose item changed structurally since the last
+   * render is rendered as well. Unlike {@link #render()}, the provider is not updated.
+   *
+   * @param slots the slots to render
+   * @return true if the internal updating task is stopped, false if not
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public boolean render(BitSet slots) {
+    Preconditions.checkNotNull(slots, "Slots must not be null");
+    drainMailbox();
+    if (revalidateTask()) return true;
+    if (content == null || inventory == null)
+      return false;
+    BitSet renderSlots = (BitSet) slots.clone();
+    revalidateSlotTable(content);
+    slotTable.drainChanges(renderSlots);
+    int length = Math.min(slotTable.size(), inventory.getSize());
+    for (int slot = renderSlots.nextSetBit(0);
+         slot >= 0 && slot < length; slot = renderSlots.nextSetBit(slot + 1)) {
+      @Nullable InventoryItem item = slotTable.get(slot);
+      renderSlot(slot, (item != null ? RenderContext.render(item, this, slot) : null));
+    }
+    return false;
+  }
+
+  /**
+   * Invalidates the entire inventory, such that it is rendered and its provider is updated in
+   * the next tick.
+   * <p>This method is thread-safe, multiple invalidations within a tick are coalesced.
+   *
+   * @see InventoryRenderMode#ON_DEMAND
+   * @since 2.1
+   */
+  public void invalidate() {
+    synchronized (dirtySlots) {
+      dirtyAll = true;
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Invalidates {@code slot}, such that it is rendered in the next tick.
+   * <p>This method is thread-safe, multiple invalidations within a tick are coalesced.
+   *
+   * @param slot the slot to invalidate
+   * @since 2.1
+   */
+  public void invalidate(int slot) {
+    if (slot < 0) return;
+    synchronized (dirtySlots) {
+      dirtySlots.set(slot);
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Invalidates all {@code slots}, such that they are rendered in the next tick.
+   * <p>This method is thread-safe, multiple invalidations within a tick are coalesced.
+   *
+   * @param slots the slots to invalidate
+   * @since 2.1
+   */
+  public void invalidate(BitSet slots) {
+    Preconditions.checkNotNull(slots, "Slots must not be null");
+    synchronized (dirtySlots) {
+      dirtySlots.or(slots);
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Invalidates the slot at (absolute) {@code position}, such that it is rendered in the next
+   * tick.
+   *
+   * @param position the absolute position to invalidate
+   * @see #invalidate(int)
+   * @since 2.1
+   */
+  public void invalidate(InventoryPosition position) {
+    Preconditions.checkNotNull(position, "Position must not be null");
+    invalidate(position.getRow() * getWidth() + position.getColumn());
+  }
+
+  /**
+   * Invalidates all slots within (absolute) {@code section}, such that they are rendered in the
+   * next tick.
+   *
+   * @param section the absolute section to invalidate
+   * @see #invalidate(int)
+   * @since 2.1
+   */
+  public void invalidate(InventorySection section) {
+    Preconditions.checkNotNull(section, "Section must not be null");
+    int width = getWidth();
+    InventoryPosition begin = section.getBegin(), end = section.getEnd();
+    int endColumn = Math.min(end.getColumn(), width - 1);
+    synchronized (dirtySlots) {
+      for (int row = begin.getRow(); row <= end.getRow(); ++row)
+        dirtySlots.set(row * width + begin.getColumn(), row * width + endColumn + 1);
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Invalidates all slots that depend on {@code tag}, such that they are rendered in the next
+   * tick.
+   * <p>This method is thread-safe.
+   *
+   * @param tag the tag whose dependent slots to invalidate
+   * @see InventoryTagIndex#invalidateTag(String)
+   * @since 2.1
+   */
+  public void invalidateTag(String tag) {
+    Preconditions.checkNotNull(tag, "Tag must not be null");
+    @Nullable BitSet slots = tagSlots.get(tag);
+    if (slots != null) invalidate(slots);
+  }
+
+  /**
+   * Revalidates the slot table and, if it compiled, re-indexes the tags of {@code content} and
+   * listens to changes of all displayed views and items.
+   */
+  private void revalidateSlotTable(InventoryContentView content) {
+    if (!slotTable.revalidate(content, this) || !started) return;
+    List<InventoryContentView> views = new ArrayList<>();
+    content.forEachDisplayed(views::add);
+    listenTo(views);
+    Map<String, BitSet> tagSlots = new HashMap<>();
+    for (int slot = 0, size = slotTable.size(); slot < size; ++slot) {
+      @Nullable InventoryItem item = slotTable.get(slot);
+      if (item == null) continue;
+      if (item instanceof MutableInventoryItem)
+        ((MutableInventoryItem) item).addChangeListener(itemListener);
+      for (String tag : item.getTags())
+        tagSlots.computeIfAbsent(tag, (key) -> new BitSet()).set(slot);
+    }
+    int width = content.getDimensions().getWidth();
+    content.collectTags((tag, section) -> {
+      BitSet slots = tagSlots.computeIfAbsent(tag, (key) -> new BitSet());
+      InventoryPosition begin = section.getBegin(), end = section.getEnd();
+      int endColumn = Math.min(end.getColumn(), width - 1);
+      for (int row = begin.getRow(); row <= end.getRow(); ++row)
+        slots.set(row * width + begin.getColumn(), row * width + endColumn + 1);
+    });
+    InventoryTagIndex.update(this, this.tagSlots.keySet(), tagSlots.keySet());
+    this.tagSlots = tagSlots;
+  }
+
+  /** Listens to changes of exactly {@code views}, replacing the previously listened views */
+  private void listenTo(List<InventoryContentView> views) {
+    synchronized (listenedViews) {
+      for (InventoryContentView view : listenedViews)
+        if (!views.contains(view)) view.removeChangeListener(contentListener);
+      for (InventoryContentView view : views)
+        view.addChangeListener(contentListener);
+      listenedViews.clear();
+      listenedViews.addAll(views);
+    }
+  }
+
+  /** Schedules a flush, which renders all slots that changed structurally through {@code view} */
+  private void onContentChanged(InventoryContentView view) {
+    scheduleFlush();
+  }
+
+  /** Invalidates exactly the slots that display {@code item}, looked up on the main thread */
+  private void onItemChanged(InventoryItem item) {
+    if (!started) {
+      if (item instanceof MutableInventoryItem)
+        ((MutableInventoryItem) item).removeChangeListener(itemListener);
+      return;
+    }
+    // the flush scheduled by posting renders the slots, thus invalidating would schedule another
+    post((inventory) -> {
+      BitSet slots = new BitSet();
+      for (int slot = 0, size = slotTable.size(); slot < size; ++slot)
+        if (slotTable.get(slot) == item) slots.set(slot);
+      if (!slots.isEmpty()) {
+        synchronized (dirtySlots) {
+          dirtySlots.or(slots);
+        }
+      } else if (item instanceof MutableInventoryItem) {
+        ((MutableInventoryItem) item).removeChangeListener(itemListener);
+      }
+    });
+  }
+
+  /** Schedules a flush of all invalidations in the next tick, if none is scheduled already */
+  void scheduleFlush() {
+    if (started)
+      submitFlush();
+  }
+
+  private void submitFlush() {
+    if (flushScheduled.compareAndSet(false, true))
+      InventoryUpdateScheduler.of(plugin).submit(this, this::flush);
+  }
+
+  /**
+   * Posts {@code mutation} to the mailbox of this inventory, such that it is applied on the main
+   * thread at the beginning of the next render.
+   * <p>This method is thread-safe and lock-free. It allows any thread to mutate the content of
+   * this inventory, or this inventory itself (for example through {@code show}), without
+   * synchronizing with the main thread. Mutations are applied in the order they were posted, at
+   * the latest within the next tick, even if this inventory is not shown or rendered on demand.
+   *
+   * @param mutation the mutation to apply on the main thread
+   * @since 2.1
+   */
+  public void post(Consumer<? super CustomInventory> mutation) {
+    Preconditions.checkNotNull(mutation, "Mutation must not be null");
+    mailbox.add(mutation);
+    submitFlush();
+  }
+
+  /** Applies all mutations posted to the mailbox, which must be called on the main thread */
+  private void drainMailbox() {
+    @Nullable Consumer<? super CustomInventory> mutation;
+    while ((mutation = mailbox.poll()) != null) {
+      try {
+        mutation.accept(this);
+      } catch (RuntimeException e) {
+        plugin.getLogger().log(Level.SEVERE, "Exception in posted inventory mutation", e);
+      }
+    }
+  }
+
+  /** Renders all invalidations and mutations that accumulated since the last render */
+  private void flush() {
+    flushScheduled.set(false);
+    drainMailbox();
+    if (!started) return;
+    boolean renderAll;
+    BitSet slots;
+    synchronized (dirtySlots) {
+      renderAll = dirtyAll;
+      slots = (BitSet) dirtySlots.clone();
+      dirtyAll = false;
+      dirtySlots.clear();
+    }
+    if (renderAll)
+      render();
+    else
+      render(slots);
+  }
+
+  private void clearInvalidation() {
+    synchronized (dirtySlots) {
+      dirtyAll = false;
+      dirtySlots.clear();
+    }
+  }
+
+  /**
+   * Moves all invalidated slots into {@code target} and clears the invalidation.
+   *
+   * @return true if the entire inventory is invalidated
+   */
+  private boolean takeInvalidation(BitSet target) {
+    synchronized (dirtySlots) {
+      boolean renderAll = dirtyAll;
+      target.or(dirtySlots);
+      dirtyAll = false;
+      dirtySlots.clear();
+      return renderAll;
+    }
+  }
+
+  /** Returns the scheduler tick at which the slot of {@code item} is due for its next refresh */
+  static long getRefreshDeadline(@Nullable InventoryItem item, long tick) {
+    // empty slots only change structurally, which always renders them
+    if (item == null) return InventoryItem.REFRESH_NEVER;
+    long period = item.getRefreshPeriod();
+    if (period == InventoryItem.REFRESH_INHERIT) return tick;
+    if (period == InventoryItem.REFRESH_NEVER) return InventoryItem.REFRESH_NEVER;
+    // saturate, such that very long periods do not overflow into the past
+    long deadline = tick + period;
+    return (deadline < tick ? InventoryItem.REFRESH_NEVER : deadline);
+  }
+
+  /**
+   * Adds {@code player} as viewer, after it opened this inventory and starts this inventory, if
+   * not started already.
+   */
+  void addViewer(Player player) {
+    synchronized (lock) {
+      if (inventory == null || !viewers.add(player)) return;
+      start();
+    }
+  }
+
+  /**
+   * Removes {@code player} as viewer, after it closed this inventory or quit, and stops this
+   * inventory immediately if no viewer is left.
+   */
+  void removeViewer(Player player) {
+    synchronized (lock) {
+      if (viewers.remove(player) && viewers.isEmpty())
+        stop();
+    }
+  }
+
+  /** Records that a viewer just clicked in this inventory */
+  void markInteraction() {
+    lastInteraction = lastActivity = InventoryUpdateScheduler.of(plugin).getTick();
+    @Nullable ScheduledInventoryUpdate task = this.task;
+    if (task != null)
+      // snap back to the regular update interval, if throttled
+      task.wake();
+  }
+
+  /**
+   * Returns the number of scheduler ticks since a viewer last clicked in this inventory.
+   *
+   * @return the ticks since the last click, or {@code Long.MAX_VALUE} if no viewer clicked yet
+   * @see InventoryUpdateScheduler#getTick()
+   * @since 2.1
+   */
+  public long getTicksSinceInteraction() {
+    long lastInteraction = this.lastInteraction;
+    if (lastInteraction < 0) return Long.MAX_VALUE;
+    return InventoryUpdateScheduler.of(plugin).getTick() - lastInteraction;
+  }
+
+  /** Returns the width of the current content, which is the width of the inventory */
+  private int getWidth() {
+    @Nullable InventoryContentView content = this.content;
+    return (content != null
+        ? content.getDimensions().getWidth()
+        : InventoryDimensions.DEFAULT_WIDTH);
+  }
+
+  /**
+   * Returns the item that is displayed at {@code slot} of the current content.
+   * <p>The item is resolved through a flat slot table, that is compiled from the content and
+   * only recompiled when the content reports a structural change.
+   *
+   * @param slot the slot of the inventory
+   * @return the item at {@code slot}, or null if there is no item or content
+   * @see InventoryContentView#getRevision()
+   * @since 2.1
+   */
+  public @Nullable InventoryItem getItem(int slot) {
+    @Nullable InventoryContentView content = this.content;
+    if (content == null) return null;
+    revalidateSlotTable(content);
+    return slotTable.get(slot);
+  }
+
+  /**
+   * Writes {@code itemStack} into {@code slot} of the underlying inventory.
+   * <p>If differential rendering is enabled, the slot is only written if {@code itemStack}
+   * differs from the item stack that was last written to it.
+   *
+   * @param slot      the slot to write to
+   * @param itemStack the new item stack, null to represent an empty slot
+   * @see #setDiffRendering(boolean)
+   */
+  protected void renderSlot(int slot, @Nullable ItemStack itemStack) {
+    if (inventory == null) return;
+    if (diffRendering && frame != null)
+      frame.apply(inventory, slot, itemStack);
+    else
+      inventory.setItem(slot, itemStack);
+  }
+
   /**
    * Reassigns the internal content and title property and returns a boolean that defines whether a
    * re-render or re-creation of the inventory is necessary.
@@ -229,35 +976,93 @@ public class CustomInventory implements InventoryItemAccessor {
 
   @CanIgnoreReturnValue
   protected boolean start() {
-    if (task != null)
+    if (started)
       return false;
     synchronized (lock) {
-      if (task != null)
+      if (started)
         return false;
-      // render the inventory with viewer check
-      this.task = Bukkit.getScheduler().runTaskTimer(plugin, () -> this.update(),
-          updateInterval.toTicks(), updateInterval.toTicks());
-      Bukkit.getPluginManager().registerEvents(listener, plugin);
+      this.started = true;
+      this.lastActivity = InventoryUpdateScheduler.of(plugin).getTick();
+      // the tags are only indexed while started, thus the content has to be compiled again
+      slotTable.invalidate();
+      if (renderMode == InventoryRenderMode.PERIODIC)
+        startUpdateTask();
+      CustomInventoryListener.register(plugin);
       return true;
     }
   }
 
+  private void startUpdateTask() {
+    // render the inventory with viewer check, through the plugin's shared scheduler
+    this.task = InventoryUpdateScheduler.of(plugin).schedule(this);
+  }
+
   @CanIgnoreReturnValue
   protected boolean stop() {
-    if (task == null)
+    if (!started)
       return false;
     synchronized (lock) {
-      if (task == null)
+      if (!started)
         return false;
-      task.cancel();
+      this.started = false;
+      if (task != null)
+        task.cancel();
       task = null;
+      clearInvalidation();
       viewers.clear();
       updateTicker.reset();
-      HandlerList.unregisterAll(listener);
+      InventoryTagIndex.remove(this, tagSlots.keySet());
+      tagSlots = Collections.emptyMap();
+      listenTo(Collections.emptyList());
+      releaseInventory();
       return true;
     }
   }
 
+  /**
+   * Releases the current Bukkit inventory into the inventory pool, if this inventory uses one.
+   * <p>The inventory is released in the next tick, since viewers might still be in the process
+   * of closing it.
+   */
+  private void releaseInventory() {
+    @Nullable InventoryPool pool = this.pool;
+    if (pool == null || inventory == null) return;
+    CustomInventoryHolder holder = this.holder;
+    // the frame only reflects the inventory with diff rendering, since it is not updated otherwise
+    @Nullable InventoryFrame frame = (diffRendering ? this.frame : null);
+    @Nullable String title = inventoryTitle;
+    // the pooled holder must not keep this inventory and its content alive
+    holder.clearOwner();
+    this.holder = new CustomInventoryHolder(this);
+    this.inventory = null;
+    this.frame = null;
+    InventoryUpdateScheduler.of(plugin).execute(() -> pool.release(holder, frame, title));
+  }
+
+  /**
+   * Updates the pool, from which Bukkit inventories are acquired and into which they are
+   * released, once this inventory is no longer shown or requires a different inventory.
+   *
+   * @param pool the pool to use, null to always create new inventories
+   * @see InventoryPool
+   * @since 2.1
+   */
+  public void setInventoryPool(@Nullable InventoryPool pool) {
+    this.pool = pool;
+  }
+
+  /** @since 2.1 */
+  public @Nullable InventoryPool getInventoryPool() {
+    return pool;
+  }
+
+  /**
+   * Stops this inventory if no viewer is left.
+   * <p>Viewers are tracked through open, close and quit events, thus this check does not poll
+   * the open inventory of any viewer.
+   *
+   * @return true if the internal updating task is stopped, false if not
+   */
   @CanIgnoreReturnValue
   private boolean revalidateTask() {
     if (viewers.isEmpty() || inventory == null)
@@ -268,11 +1073,31 @@ public class CustomInventory implements InventoryItemAccessor {
   private void createInventory(@Nullable String title) {
     Preconditions.checkNotNull(content, "Content is undefined");
     synchronized (lock) {
-      this.inventory = (title != null
-          ? Bukkit.createInventory(null, content.getDimensions().size(), title)
-          : Bukkit.createInventory(null, content.getDimensions().size()));
-      render(false);
-      viewers.forEach((viewer) -> viewer.openInventory(inventory));
+      int size = content.getDimensions().size();
+      @Nullable InventoryPool pool = this.pool;
+      releaseInventory();
+      InventoryPool.@Nullable Entry entry = (pool != null ? pool.acquire(size, title) : null);
+      if (entry != null) {
+        entry.holder.setOwner(this);
+        this.holder = entry.holder;
+        this.inventory = entry.holder.getInventory();
+        // the pooled frame still matches the inventory, thus only differing slots are written
+        this.frame = (entry.frame != null ? entry.frame : new InventoryFrame(size));
+      } else {
+        this.holder = new CustomInventoryHolder(this);
+        this.inventory = (title != null
+            ? Bukkit.createInventory(holder, size, title)
+            : Bukkit.createInventory(holder, size));
+        holder.setInventory(inventory);
+        this.frame = new InventoryFrame(inventory.getSize());
+      }
+      this.inventoryTitle = title;
+      render();
+      // close events of the previous inventory are ignored, since it is no longer this inventory
+      for (Player viewer : new ArrayList<>(viewers))
+        if (viewer.openInventory(inventory) == null)
+          viewers.remove(viewer);
+      revalidateTask();
     }
   }
 
@@ -288,6 +1113,144 @@ public class CustomInventory implements InventoryItemAccessor {
     return inventory;
   }
 
+  /**
+   * Discards the shadow of the last rendered frame and invalidates every slot, such that every
+   * slot is written in the next tick.
+   * <p>This is necessary whenever the underlying inventory was modified outside a render, for
+   * example through a click that was not cancelled.
+   */
+  void discardFrame() {
+    @Nullable InventoryFrame frame = this.frame;
+    if (frame == null) return;
+    frame.invalidate();
+    synchronized (dirtySlots) {
+      dirtySlots.set(0, frame.size());
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Discards the shadow of {@code slots} and invalidates them, such that they are written in
+   * the next tick, even if their item stack did not change.
+   *
+   * @see #discardFrame()
+   */
+  void discardFrame(BitSet slots) {
+    @Nullable InventoryFrame frame = this.frame;
+    if (frame == null) return;
+    for (int slot = slots.nextSetBit(0);
+         slot >= 0 && slot < frame.size(); slot = slots.nextSetBit(slot + 1))
+      frame.invalidate(slot);
+    invalidate(slots);
+  }
+
+  /**
+   * Enables or disables differential rendering.
+   * <p>With differential rendering enabled, a render only writes slots whose item stack changed
+   * since the previous render, instead of rewriting every slot of the inventory.
+   *
+   * @param diffRendering true to only write changed slots on render
+   * @since 2.1
+   */
+  public void setDiffRendering(boolean diffRendering) {
+    if (diffRendering && !this.diffRendering)
+      discardFrame();
+    this.diffRendering = diffRendering;
+  }
+
+  /** @since 2.1 */
+  public boolean isDiffRendering() {
+    return diffRendering;
+  }
+
+  /**
+   * Updates the mode that defines when this inventory is rendered.
+   * <p>If this inventory is currently shown, the update task is started or cancelled according
+   * to the new mode.
+   *
+   * @param renderMode the new render mode
+   * @see InventoryRenderMode
+   * @since 2.1
+   */
+  public void setRenderMode(InventoryRenderMode renderMode) {
+    Preconditions.checkNotNull(renderMode, "Mode must not be null");
+    synchronized (lock) {
+      this.renderMode = renderMode;
+      if (!started) return;
+      if (renderMode == InventoryRenderMode.PERIODIC && task == null)
+        startUpdateTask();
+      else if (renderMode == InventoryRenderMode.ON_DEMAND && task != null) {
+        task.cancel();
+        task = null;
+      }
+    }
+  }
+
+  /** @since 2.1 */
+  public InventoryRenderMode getRenderMode() {
+    return renderMode;
+  }
+
+  /**
+   * Updates the priority of this inventory's periodic updates, which defines how much the update
+   * interval is stretched while the server is under load.
+   *
+   * @param updatePriority the new update priority
+   * @see InventoryUpdatePriority
+   * @since 2.1
+   */
+  public void setUpdatePriority(InventoryUpdatePriority updatePriority) {
+    Preconditions.checkNotNull(updatePriority, "Priority must not be null");
+    this.updatePriority = updatePriority;
+  }
+
+  /** @since 2.1 */
+  public InventoryUpdatePriority getUpdatePriority() {
+    return updatePriority;
+  }
+
+  /**
+   * Enables throttling of this inventory's periodic updates while its viewers are idle.
+   * <p>If no viewer clicked in this inventory for {@code timeout} since it was shown, this
+   * inventory is updated at most every {@code interval}, until the next click, upon which it
+   * immediately returns to its regular update interval.
+   *
+   * @param timeout  the time without any click, after which this inventory is throttled,
+   *                 null to disable throttling
+   * @param interval the update interval while throttled
+   * @see #isIdle()
+   * @since 2.1
+   */
+  public void setIdleThrottle(@Nullable TickDuration timeout, TickDuration interval) {
+    Preconditions.checkNotNull(interval, "Interval must not be null");
+    this.idleInterval = interval;
+    this.idleTimeout = timeout;
+  }
+
+  /** @since 2.1 */
+  public @Nullable TickDuration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /** @since 2.1 */
+  public TickDuration getIdleInterval() {
+    return idleInterval;
+  }
+
+  /**
+   * Returns true if idle throttling is enabled and no viewer clicked in this inventory within
+   * the idle timeout.
+   *
+   * @see #setIdleThrottle(TickDuration, TickDuration)
+   * @since 2.1
+   */
+  public boolean isIdle() {
+    @Nullable TickDuration idleTimeout = this.idleTimeout;
+    if (idleTimeout == null) return false;
+    long idleTicks = InventoryUpdateScheduler.of(plugin).getTick() - lastActivity;
+    return idleTicks >= idleTimeout.toTicks();
+  }
+
   public WeakHashSet<Player> getViewers() {
     return viewers;
   }
@@ -32,6 +32,12 @@ public final class CustomInventoryBuilder {
   private @Nullable TickDuration updateInterval;
   private @Nullable InventoryProvider provider;
   private @Nullable BiConsumer<CustomInventory, ? extends InventoryContentView> populator;
+  private boolean diffRendering;
+  private InventoryRenderMode renderMode = InventoryRenderMode.PERIODIC;
+  private InventoryUpdatePriority updatePriority = InventoryUpdatePriority.NORMAL;
+  private @Nullable TickDuration idleTimeout;
+  private @Nullable TickDuration idleInterval;
+  private @Nullable InventoryPool pool;
 
   private CustomInventoryBuilder() {}
 
@@ -84,6 +90,108 @@ public final class CustomInventoryBuilder {
     return updateInterval;
   }
 
+  /**
+   * Enables or disables differential rendering, with which only slots whose item stack changed
+   * since the previous render are written to the inventory.
+   *
+   * @param diffRendering true to only write changed slots on render
+   * @return this builder
+   * @see CustomInventory#setDiffRendering(boolean)
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public CustomInventoryBuilder diffRendering(boolean diffRendering) {
+    this.diffRendering = diffRendering;
+    return this;
+  }
+
+  public boolean isDiffRendering() {
+    return diffRendering;
+  }
+
+  /**
+   * Updates the mode that defines when the built inventory is rendered.
+   *
+   * @param renderMode the render mode
+   * @return this builder
+   * @see CustomInventory#setRenderMode(InventoryRenderMode)
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public CustomInventoryBuilder renderMode(InventoryRenderMode renderMode) {
+    Preconditions.checkNotNull(renderMode, "Mode must not be null");
+    this.renderMode = renderMode;
+    return this;
+  }
+
+  public InventoryRenderMode getRenderMode() {
+    return renderMode;
+  }
+
+  /**
+   * Updates the priority of the built inventory's periodic updates under server load.
+   *
+   * @param updatePriority the update priority
+   * @return this builder
+   * @see CustomInventory#setUpdatePriority(InventoryUpdatePriority)
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public CustomInventoryBuilder updatePriority(InventoryUpdatePriority updatePriority) {
+    Preconditions.checkNotNull(updatePriority, "Priority must not be null");
+    this.updatePriority = updatePriority;
+    return this;
+  }
+
+  public InventoryUpdatePriority getUpdatePriority() {
+    return updatePriority;
+  }
+
+  /**
+   * Enables throttling of the built inventory's periodic updates while its viewers are idle.
+   *
+   * @param timeout  the time without any click, after which the inventory is throttled,
+   *                 null to disable throttling
+   * @param interval the update interval while throttled
+   * @return this builder
+   * @see CustomInventory#setIdleThrottle(TickDuration, TickDuration)
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public CustomInventoryBuilder idleThrottle(@Nullable TickDuration timeout,
+                                             TickDuration interval) {
+    Preconditions.checkNotNull(interval, "Interval must not be null");
+    this.idleTimeout = timeout;
+    this.idleInterval = interval;
+    return this;
+  }
+
+  public @Nullable TickDuration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  public @Nullable TickDuration getIdleInterval() {
+    return idleInterval;
+  }
+
+  /**
+   * Updates the pool, from which the built inventory acquires its Bukkit inventories.
+   *
+   * @param pool the pool to use, null to always create new inventories
+   * @return this builder
+   * @see CustomInventory#setInventoryPool(InventoryPool)
+   * @since 2.1
+   */
+  @CanIgnoreReturnValue
+  public CustomInventoryBuilder pool(@Nullable InventoryPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  public @Nullable InventoryPool getPool() {
+    return pool;
+  }
+
   /** @since 2.0 */
   @CanIgnoreReturnValue
   public CustomInventoryBuilder populate(InventoryProvider provider) {
@@ -160,6 +268,12 @@ public final class CustomInventoryBuilder {
     CustomInventory inventory = (updateInterval != null
         ? new CustomInventory(plugin, updateInterval, title)
         : new CustomInventory(plugin, title));
+    inventory.setDiffRendering(diffRendering);
+    inventory.setRenderMode(renderMode);
+    inventory.setUpdatePriority(updatePriority);
+    inventory.setInventoryPool(pool);
+    if (idleInterval != null)
+      inventory.setIdleThrottle(idleTimeout, idleInterval);
     Preconditions.checkNotNull(provider, "No content provider is apparent");
     if (provider instanceof InventoryProvider.StaticInventoryProvider) {
       InventoryContentView content = provider.init();
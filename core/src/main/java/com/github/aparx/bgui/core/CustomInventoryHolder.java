@@ -0,0 +1,83 @@
+package com.github.aparx.bgui.core;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * The holder of every Bukkit inventory created by a {@code CustomInventory}.
+ * <p>The holder links a Bukkit inventory back to the custom inventory that currently owns it,
+ * allowing to look up the owner of an inventory involved in an event in constant time.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-08 19:32
+ * @see #getOwner(Inventory)
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class CustomInventoryHolder implements InventoryHolder {
+
+  /** The owning inventory, null while pooled, such that a pooled holder keeps no menu alive */
+  private volatile @Nullable CustomInventory owner;
+
+  private volatile @Nullable Inventory inventory;
+
+  CustomInventoryHolder(CustomInventory owner) {
+    Preconditions.checkNotNull(owner, "Owner must not be null");
+    this.owner = owner;
+  }
+
+  /**
+   * Returns the custom inventory that owns {@code inventory}.
+   *
+   * @param inventory the Bukkit inventory to get the owner from
+   * @return the owning custom inventory, or null if {@code inventory} is not owned by any
+   */
+  public static @Nullable CustomInventory getOwner(@Nullable Inventory inventory) {
+    if (inventory == null) return null;
+    @Nullable InventoryHolder holder = inventory.getHolder();
+    return (holder instanceof CustomInventoryHolder
+        ? ((CustomInventoryHolder) holder).getOwner()
+        : null);
+  }
+
+  /** Returns the owning inventory, or null if this holder is pooled */
+  public @Nullable CustomInventory getOwner() {
+    return owner;
+  }
+
+  void setOwner(CustomInventory owner) {
+    Preconditions.checkNotNull(owner, "Owner must not be null");
+    this.owner = owner;
+  }
+
+  /** Detaches this holder from its owner, for example when it is released into a pool */
+  void clearOwner() {
+    this.owner = null;
+  }
+
+  void setInventory(@Nullable Inventory inventory) {
+    this.inventory = inventory;
+  }
+
+  /** Returns the held inventory, or null if it is not created yet */
+  @Nullable Inventory peekInventory() {
+    return inventory;
+  }
+
+  /**
+   * Returns the held inventory.
+   *
+   * @throws IllegalStateException if the inventory is not created yet
+   */
+  @Override
+  public Inventory getInventory() {
+    @Nullable Inventory inventory = this.inventory;
+    Preconditions.checkState(inventory != null, "Inventory is not created yet");
+    return inventory;
+  }
+
+}
@@ -1,24 +1,41 @@
 package com.github.aparx.bgui.core;
 
-import com.github.aparx.bgui.core.content.InventoryContentView;
 import com.google.common.base.Preconditions;
+import com.github.aparx.bgui.core.content.InventoryContentView;
+import com.github.aparx.bgui.core.item.InventoryClickContext;
 import com.github.aparx.bgui.core.item.InventoryItem;
-import com.github.aparx.bgui.core.dimension.InventoryPosition;
+import com.github.aparx.bgui.core.scheduler.InventoryUpdateScheduler;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryEvent;
+import org.bukkit.event.inventory.InventoryInteractEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The listener shared by all custom inventories of a plugin.
+ * <p>A single listener is registered per plugin, regardless of how many inventories are shown.
+ * The custom inventory involved in an event is looked up in constant time through the
+ * {@link CustomInventoryHolder} of the event's inventory.
+ *
  * @author aparx (Vinzent Z.)
  * @version 2023-12-23 20:56
  * @since 1.0
@@ -26,39 +43,189 @@ import java.lang.ref.WeakReference;
 @DefaultQualifier(NonNull.class)
 public class CustomInventoryListener implements Listener {
 
-  private final WeakReference<CustomInventory> inventory;
+  private static final Map<Plugin, CustomInventoryListener> listeners = new ConcurrentHashMap<>();
+
+  private final Plugin plugin;
+
+  /** The inventory of a legacy listener, that handles no events, null if shared */
+  private final @Nullable WeakReference<CustomInventory> inventory;
 
+  protected CustomInventoryListener(Plugin plugin) {
+    Preconditions.checkNotNull(plugin, "Plugin must not be null");
+    this.plugin = plugin;
+    this.inventory = null;
+  }
+
+  /**
+   * Allocates a listener bound to {@code inventory}, that handles no events itself.
+   *
+   * @param inventory the inventory to bind the listener to
+   * @deprecated inventories no longer own a listener, since events are handled by the listener
+   * shared per plugin, which is registered automatically, see {@link #register(Plugin)}
+   */
+  @Deprecated
   public CustomInventoryListener(CustomInventory inventory) {
     Preconditions.checkNotNull(inventory, "Inventory must not be null");
+    this.plugin = inventory.getPlugin();
     this.inventory = new WeakReference<>(inventory);
   }
 
+  /**
+   * Returns the listener of {@code plugin} and registers it, if it is not registered already.
+   *
+   * @param plugin the plugin to register the listener for
+   * @return the shared listener of {@code plugin}
+   * @since 2.1
+   */
+  public static CustomInventoryListener register(Plugin plugin) {
+    Preconditions.checkNotNull(plugin, "Plugin must not be null");
+    @Nullable CustomInventoryListener listener = listeners.get(plugin);
+    if (listener != null) return listener;
+    return listeners.computeIfAbsent(plugin, (key) -> {
+      CustomInventoryListener newListener = new CustomInventoryListener(key);
+      Bukkit.getPluginManager().registerEvents(newListener, key);
+      return newListener;
+    });
+  }
+
   @EventHandler(priority = EventPriority.HIGH)
   void onInteract(InventoryClickEvent event) {
     if (event.isCancelled()) return;
     HumanEntity humanEntity = event.getWhoClicked();
     if (!(humanEntity instanceof Player)) return;
     Player player = (Player) humanEntity;
-    int slot = event.getSlot();
-    if (slot >= 0 && event.getSlotType() == InventoryType.SlotType.CONTAINER) {
-      @Nullable CustomInventory thisInventory = this.inventory.get();
-      //noinspection deprecation
-      if (thisInventory != null && thisInventory.isViewer(player)
-          && event.getInventory().equals(thisInventory.getInventory())) {
-        @Nullable InventoryContentView content = thisInventory.getContent();
-        if (content == null) return;
-        @Nullable InventoryItem inventoryItem = content.get(thisInventory,
-            InventoryPosition.ofIndex(slot, content.getDimensions().getWidth()));
-        if (inventoryItem != null) {
-          inventoryItem.handleClick(inventoryItem, event);
-          thisInventory.render(false); // force re-render due to click
-        }
-      } else if (thisInventory != null)
-        HandlerList.unregisterAll(this);
+    // raw slots below the top inventory's size are the top inventory's slots, unlike the slot
+    // index, which is the same for a slot of the player's inventory
+    int slot = event.getRawSlot();
+    if (slot < 0 || slot >= event.getInventory().getSize()) return;
+    @Nullable CustomInventory thisInventory = getInventory(event);
+    if (thisInventory == null || !thisInventory.isViewer(player)) return;
+    thisInventory.markInteraction();
+    @Nullable InventoryContentView content = thisInventory.getContent();
+    @Nullable InventoryItem inventoryItem = thisInventory.getItem(slot);
+    if (content != null && inventoryItem != null) {
+      InventoryClickContext context = new InventoryClickContext(
+          thisInventory, inventoryItem, event, content.getDimensions().getWidth());
+      inventoryItem.handleClick(context);
+      // the repaint is deferred to the end of the tick, such that multiple clicks within
+      // the same tick are coalesced into a single render
+      if (context.isInvalidatedAll()) {
+        thisInventory.invalidate();
+      } else {
+        // only repaint the clicked and reported slots (and structural changes)
+        BitSet slots = context.getInvalidatedSlots();
+        slots.set(slot);
+        thisInventory.invalidate(slots);
+      }
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  void onInteractMonitor(InventoryClickEvent event) {
+    @Nullable CustomInventory thisInventory = getDiffRenderedInventory(event);
+    if (thisInventory == null) return;
+    InventoryAction action = event.getAction();
+    if (action == InventoryAction.MOVE_TO_OTHER_INVENTORY
+        || action == InventoryAction.COLLECT_TO_CURSOR) {
+      // these may modify any slot of the top inventory, regardless of the clicked slot
+      thisInventory.discardFrame();
+      return;
     }
+    int rawSlot = event.getRawSlot();
+    if (rawSlot < 0 || rawSlot >= event.getInventory().getSize()) return;
+    BitSet slots = new BitSet();
+    slots.set(rawSlot);
+    thisInventory.discardFrame(slots);
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  void onDragMonitor(InventoryDragEvent event) {
+    @Nullable CustomInventory thisInventory = getDiffRenderedInventory(event);
+    if (thisInventory == null) return;
+    int topSize = event.getInventory().getSize();
+    BitSet slots = new BitSet();
+    for (int rawSlot : event.getRawSlots())
+      if (rawSlot >= 0 && rawSlot < topSize) slots.set(rawSlot);
+    if (!slots.isEmpty())
+      thisInventory.discardFrame(slots);
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  void onOpen(InventoryOpenEvent event) {
+    @Nullable CustomInventory thisInventory = getInventory(event);
+    if (thisInventory != null && event.getPlayer() instanceof Player)
+      thisInventory.addViewer((Player) event.getPlayer());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  void onClose(InventoryCloseEvent event) {
+    @Nullable CustomInventory thisInventory = getInventory(event);
+    if (thisInventory != null && event.getPlayer() instanceof Player)
+      thisInventory.removeViewer((Player) event.getPlayer());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  void onQuit(PlayerQuitEvent event) {
+    if (inventory != null) return;
+    Player player = event.getPlayer();
+    @Nullable CustomInventory thisInventory = CustomInventoryHolder.getOwner(
+        player.getOpenInventory().getTopInventory());
+    if (thisInventory != null && plugin.equals(thisInventory.getPlugin()))
+      thisInventory.removeViewer(player);
+  }
+
+  @EventHandler
+  void onDisable(PluginDisableEvent event) {
+    // Bukkit unregisters all listeners and cancels all tasks of a disabled plugin
+    if (!event.getPlugin().equals(plugin)) return;
+    listeners.remove(plugin, this);
+    InventoryUpdateScheduler.discard(plugin);
   }
 
+  /**
+   * Returns the custom inventory of {@code event}, if it renders differentially, such that its
+   * render frame has to be discarded for slots modified by an interaction that was not
+   * cancelled. Interactions only in the bottom inventory never modify the custom inventory.
+   */
+  private @Nullable CustomInventory getDiffRenderedInventory(InventoryInteractEvent event) {
+    @Nullable CustomInventory thisInventory = getInventory(event);
+    return (thisInventory != null && thisInventory.isDiffRendering() ? thisInventory : null);
+  }
+
+  /**
+   * Returns the custom inventory of this listener's plugin, that currently displays the
+   * inventory of {@code event}.
+   *
+   * @param event the event to get the custom inventory from
+   * @return the custom inventory, or null if the event does not involve any of this plugin
+   */
+  protected @Nullable CustomInventory getInventory(InventoryEvent event) {
+    // legacy listeners are inert, such that registering one does not handle events twice
+    if (this.inventory != null) return null;
+    @Nullable CustomInventory inventory = CustomInventoryHolder.getOwner(event.getInventory());
+    if (inventory == null || !plugin.equals(inventory.getPlugin())
+        || !event.getInventory().equals(inventory.getInventory()))
+      return null;
+    return inventory;
+  }
+
+  /**
+   * Returns the inventory this listener is bound to.
+   *
+   * @throws IllegalStateException if this is a shared listener, or the inventory was collected
+   * @deprecated only listeners allocated through the deprecated constructor are bound to an
+   * inventory, use {@link InventoryEvent#getInventory()} along with
+   * {@link CustomInventoryHolder#getOwner(org.bukkit.inventory.Inventory)} instead
+   */
+  @Deprecated
   public CustomInventory getInventory() {
-    return Preconditions.checkNotNull(inventory.get());
+    @Nullable CustomInventory inventory = (this.inventory != null ? this.inventory.get() : null);
+    Preconditions.checkState(inventory != null, "Listener is not bound to an inventory");
+    return inventory;
   }
+
+  public Plugin getPlugin() {
+    return plugin;
+  }
+
 }
@@ -0,0 +1,168 @@
+package com.github.aparx.bgui.core;
+
+import com.github.aparx.bgui.core.render.InventoryFrame;
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.bukkit.inventory.Inventory;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A pool of Bukkit inventories, keyed by their size and title, that recycles inventories
+ * released by custom inventories that are no longer shown.
+ * <p>Released inventories are not cleared. Instead, the last rendered frame is kept along with
+ * the inventory, such that a custom inventory that acquires it with differential rendering
+ * enabled only writes the slots that differ from what the inventory displayed before.
+ * <p>A pool holds at most {@code capacityPerKey} inventories of the same size and title, and
+ * at most {@code maximumSize} inventories in total. If the pool is full, the inventory of the
+ * least recently used size and title is evicted first.
+ * <p>A pool can be shared by any number of custom inventories. This class is thread-safe.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-12 15:22
+ * @see CustomInventory#setInventoryPool(InventoryPool)
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class InventoryPool {
+
+  public static final int DEFAULT_CAPACITY_PER_KEY = 8;
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+  /** The pooled entries per key, ordered from the least to the most recently used key */
+  private final Map<Key, Deque<Entry>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final int capacityPerKey;
+
+  private final int maximumSize;
+
+  private int size;
+
+  public InventoryPool() {
+    this(DEFAULT_CAPACITY_PER_KEY);
+  }
+
+  /** @see #InventoryPool(int, int) */
+  public InventoryPool(int capacityPerKey) {
+    this(capacityPerKey, Math.max(capacityPerKey, DEFAULT_MAXIMUM_SIZE));
+  }
+
+  /**
+   * Allocates a new pool.
+   *
+   * @param capacityPerKey the maximum number of inventories pooled for the same size and title
+   * @param maximumSize    the maximum number of inventories pooled in total
+   */
+  public InventoryPool(int capacityPerKey, int maximumSize) {
+    Preconditions.checkArgument(capacityPerKey > 0, "Capacity must be positive");
+    Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+    this.capacityPerKey = capacityPerKey;
+    this.maximumSize = maximumSize;
+  }
+
+  /** Returns the number of inventories currently pooled */
+  public synchronized int size() {
+    return size;
+  }
+
+  /** Removes all inventories from this pool */
+  public synchronized void clear() {
+    entries.clear();
+    size = 0;
+  }
+
+  /**
+   * Removes and returns a pooled inventory of {@code size} and {@code title}.
+   *
+   * @return the pooled entry, or null if no inventory of {@code size} and {@code title} is pooled
+   */
+  synchronized @Nullable Entry acquire(int size, @Nullable String title) {
+    Key key = new Key(size, title);
+    @Nullable Deque<Entry> deque = entries.get(key);
+    if (deque == null) return null;
+    @Nullable Entry entry = deque.pollFirst();
+    if (deque.isEmpty())
+      entries.remove(key);
+    if (entry != null)
+      --this.size;
+    return entry;
+  }
+
+  /**
+   * Releases the inventory of {@code holder} into this pool, if it is not viewed anymore.
+   *
+   * @return true if the inventory was pooled, false if it is viewed or the pool is full
+   */
+  @CanIgnoreReturnValue
+  synchronized boolean release(CustomInventoryHolder holder, @Nullable InventoryFrame frame,
+                               @Nullable String title) {
+    @Nullable Inventory inventory = holder.peekInventory();
+    if (inventory == null || !inventory.getViewers().isEmpty())
+      return false;
+    Deque<Entry> deque = entries.computeIfAbsent(
+        new Key(inventory.getSize(), title), (key) -> new ArrayDeque<>());
+    if (deque.size() >= capacityPerKey)
+      return false;
+    deque.addFirst(new Entry(holder, frame));
+    if (++size > maximumSize)
+      evictLeastRecentlyUsed();
+    return true;
+  }
+
+  /** Removes the oldest inventory of the least recently used size and title */
+  private void evictLeastRecentlyUsed() {
+    Iterator<Deque<Entry>> iterator = entries.values().iterator();
+    if (!iterator.hasNext()) return;
+    Deque<Entry> deque = iterator.next();
+    if (deque.pollLast() != null)
+      --size;
+    if (deque.isEmpty())
+      iterator.remove();
+  }
+
+  /** A pooled inventory, along with its holder and the last frame rendered into it */
+  static final class Entry {
+
+    final CustomInventoryHolder holder;
+    final @Nullable InventoryFrame frame;
+
+    Entry(CustomInventoryHolder holder, @Nullable InventoryFrame frame) {
+      this.holder = holder;
+      this.frame = frame;
+    }
+  }
+
+  private static final class Key {
+
+    final int size;
+    final @Nullable String title;
+
+    Key(int size, @Nullable String title) {
+      this.size = size;
+      this.title = title;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+      if (this == object) return true;
+      if (!(object instanceof Key)) return false;
+      Key key = (Key) object;
+      return size == key.size && Objects.equals(title, key.title);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * size + Objects.hashCode(title);
+    }
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.github.aparx.bgui.core;
+
+/**
+ * Defines when a {@code CustomInventory} is rendered.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-07 18:21
+ * @see CustomInventory#setRenderMode(InventoryRenderMode)
+ * @since 2.1
+ */
+public enum InventoryRenderMode {
+
+  /**
+   * The inventory is rendered and its provider updated in every update interval. Invalidated
+   * slots are rendered in the tick following their invalidation.
+   */
+  PERIODIC,
+
+  /**
+   * The inventory is never polled: it is only rendered in the tick following an invalidation,
+   * and only the slots that were invalidated are rendered. A full invalidation also updates the
+   * provider.
+   *
+   * @see CustomInventory#invalidate()
+   */
+  ON_DEMAND
+
+}
@@ -0,0 +1,111 @@
+package com.github.aparx.bgui.core;
+
+import com.github.aparx.bgui.core.content.InventoryContentView;
+import com.github.aparx.bgui.core.item.InventoryItem;
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A global index from data tags to the shown custom inventories, whose slots depend on them.
+ * <p>Items and content views can be tagged with arbitrary data keys, such as
+ * {@code "balance:<uuid>"} or {@code "auction:42"}. Whenever the content of a shown inventory
+ * is compiled, the inventory is indexed under every tag of its items and views. A domain event
+ * can then call {@link #invalidateTag(String)}, which only invalidates those slots that depend on
+ * the tag, in every inventory that depends on it.
+ * <p>Inventories are referenced weakly and removed from the index once they are stopped. This
+ * class is thread-safe.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 18:40
+ * @see InventoryItem#getTags()
+ * @see InventoryContentView#getTags()
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class InventoryTagIndex {
+
+  /** The inventories that depend on a tag, guarded by itself */
+  private static final Map<String, Set<CustomInventory>> index = new HashMap<>();
+
+  private InventoryTagIndex() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Invalidates all slots that depend on {@code tag}, in every inventory that depends on it.
+   * <p>This method is thread-safe, the slots are rendered in the next tick.
+   *
+   * @param tag the tag whose dependent slots to invalidate
+   * @return the number of inventories that were invalidated
+   */
+  @CanIgnoreReturnValue
+  public static int invalidateTag(String tag) {
+    Preconditions.checkNotNull(tag, "Tag must not be null");
+    List<CustomInventory> inventories = getInventories(tag);
+    for (CustomInventory inventory : inventories)
+      inventory.invalidateTag(tag);
+    return inventories.size();
+  }
+
+  /**
+   * Returns a snapshot of all inventories that currently depend on {@code tag}.
+   *
+   * @param tag the tag to look up
+   * @return the dependent inventories, empty if none depends on {@code tag}
+   */
+  public static List<CustomInventory> getInventories(String tag) {
+    Preconditions.checkNotNull(tag, "Tag must not be null");
+    synchronized (index) {
+      @Nullable Set<CustomInventory> inventories = index.get(tag);
+      return (inventories != null ? new ArrayList<>(inventories) : Collections.emptyList());
+    }
+  }
+
+  /**
+   * Moves {@code inventory} from all {@code previous} tags to all {@code next} tags.
+   *
+   * @param inventory the inventory to index
+   * @param previous  the tags the inventory was indexed under before
+   * @param next      the tags the inventory now depends on
+   */
+  static void update(CustomInventory inventory, Set<String> previous, Set<String> next) {
+    synchronized (index) {
+      for (String tag : previous)
+        if (!next.contains(tag)) unindex(inventory, tag);
+      for (String tag : next)
+        index.computeIfAbsent(tag, (key) -> Collections.newSetFromMap(new WeakHashMap<>()))
+            .add(inventory);
+    }
+  }
+
+  /**
+   * Removes {@code inventory} from all {@code tags}.
+   *
+   * @param inventory the inventory to remove
+   * @param tags      the tags the inventory was indexed under
+   */
+  static void remove(CustomInventory inventory, Set<String> tags) {
+    synchronized (index) {
+      for (String tag : tags)
+        unindex(inventory, tag);
+    }
+  }
+
+  private static void unindex(CustomInventory inventory, String tag) {
+    @Nullable Set<CustomInventory> inventories = index.get(tag);
+    if (inventories != null && inventories.remove(inventory) && inventories.isEmpty())
+      index.remove(tag);
+  }
+
+}
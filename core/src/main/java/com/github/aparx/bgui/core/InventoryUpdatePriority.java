@@ -0,0 +1,53 @@
+package com.github.aparx.bgui.core;
+
+/**
+ * Defines how important the periodic updates of a {@code CustomInventory} are, when the server
+ * is under load.
+ * <p>While the server falls behind, the update interval of an inventory is stretched by the
+ * current load factor, raised to the power of the priority's load exponent. Thus, inventories of
+ * low priority lose fidelity first and the most, while inventories of high priority are always
+ * updated in their configured interval.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-10 12:05
+ * @see CustomInventory#setUpdatePriority(InventoryUpdatePriority)
+ * @see com.github.aparx.bgui.core.scheduler.InventoryUpdateScheduler#getLoadFactor()
+ * @since 2.1
+ */
+public enum InventoryUpdatePriority {
+
+  /** The update interval is never stretched, for inventories whose contents must stay live */
+  HIGH(0),
+
+  /** The update interval is stretched proportionally to the load of the server */
+  NORMAL(1),
+
+  /**
+   * The update interval is stretched by the squared load of the server, for cosmetic refreshes
+   * such as clocks and animations, that should lose fidelity before worsening the lag.
+   */
+  LOW(2);
+
+  private final int loadExponent;
+
+  InventoryUpdatePriority(int loadExponent) {
+    this.loadExponent = loadExponent;
+  }
+
+  /**
+   * Returns the effective update interval of {@code period} under {@code loadFactor}.
+   *
+   * @param period     the configured update interval in ticks
+   * @param loadFactor the load factor of the server, where one represents no load
+   * @return the stretched update interval in ticks, which is at least {@code period}
+   */
+  public long stretch(long period, double loadFactor) {
+    if (loadExponent == 0 || loadFactor <= 1) return period;
+    return Math.max(period, Math.round(period * Math.pow(loadFactor, loadExponent)));
+  }
+
+  public int getLoadExponent() {
+    return loadExponent;
+  }
+
+}
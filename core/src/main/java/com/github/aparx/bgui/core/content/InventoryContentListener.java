@@ -0,0 +1,25 @@
+package com.github.aparx.bgui.core.content;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Listener that is notified whenever a content view is modified structurally.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 16:20
+ * @see InventoryContentView#addChangeListener(InventoryContentListener)
+ * @since 2.1
+ */
+@FunctionalInterface
+@DefaultQualifier(NonNull.class)
+public interface InventoryContentListener {
+
+  /**
+   * Called after {@code view} was marked as modified, on the thread that modified it.
+   *
+   * @param view the modified view
+   */
+  void onContentChanged(InventoryContentView view);
+
+}
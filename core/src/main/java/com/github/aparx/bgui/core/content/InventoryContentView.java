@@ -11,6 +11,17 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
 /**
  * Abstract class representing an adapter and access-point to an underlying two-dimensional pane.
  * <p>The content view is the primary building block of bukkit-gui. It acts as an adapter, with
@@ -29,6 +40,31 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 @DefaultQualifier(NonNull.class)
 public abstract class InventoryContentView {
 
+  /**
+   * Revision that represents a view that cannot report structural changes, such that its items
+   * have to be resolved again on every render.
+   *
+   * @see #getRevision()
+   */
+  public static final long VOLATILE_REVISION = -1;
+
+  /** Global stamp counter, such that a newer modification always has a greater stamp */
+  private static final AtomicLong modificationCounter = new AtomicLong();
+
+  private volatile long modificationStamp = modificationCounter.incrementAndGet();
+
+  /** Depth of nested transactions, modified by the transaction's thread only */
+  private final AtomicInteger batchDepth = new AtomicInteger();
+
+  /** True if this view was modified within the current transaction */
+  private volatile boolean batchModified;
+
+  private final Set<String> tags = new CopyOnWriteArraySet<>();
+
+  /** Weakly referenced listeners, guarded by itself */
+  private final Set<InventoryContentListener> listeners =
+      Collections.newSetFromMap(new WeakHashMap<>());
+
   private final @Nullable InventorySection parent;
   private final InventorySection absoluteArea, relativeArea;
   private @Nullable InventorySection space;
@@ -74,6 +110,249 @@ public abstract class InventoryContentView {
   public abstract @Nullable InventoryItem get(
       @Nullable InventoryItemAccessor accessor, InventoryPosition position);
 
+  /**
+   * Resolves every item of this view in a single traversal and writes it into {@code buffer}.
+   * <p>The buffer represents the slots of the root inventory, where an item at the absolute
+   * {@code [column, row]} is written to index {@code row * width + column}. Only slots within
+   * this view's area, that resolve to a non-null item are written to, such that null keeps
+   * representing transparency: a view rendered after another view overrides the previous view's
+   * items, while leaving transparent slots untouched.
+   * <p>The result must be equivalent to calling {@link #get(InventoryItemAccessor,
+   * InventoryPosition)} for each position of this view's area.
+   *
+   * @param accessor the accessor, trying to access the underlying items
+   * @param buffer   the slot buffer of the root inventory to write resolved items into
+   * @param width    the width of the root inventory, used to compute slot indices
+   * @implSpec The default implementation calls {@code get} for every position within this area.
+   * Implementations are encouraged to override this method with a native traversal.
+   * @since 2.1
+   */
+  public void renderInto(
+      @Nullable InventoryItemAccessor accessor, @Nullable InventoryItem[] buffer, int width) {
+    InventoryPosition begin = absoluteArea.getBegin(), end = absoluteArea.getEnd();
+    int endColumn = Math.min(end.getColumn(), width - 1);
+    for (int row = begin.getRow(); row <= end.getRow(); ++row)
+      for (int column = begin.getColumn(); column <= endColumn; ++column) {
+        int slot = row * width + column;
+        if (slot >= buffer.length) return;
+        @Nullable InventoryItem item = get(accessor, InventoryPosition.ofPoint(column, row, width));
+        if (item != null) buffer[slot] = item;
+      }
+  }
+
+  /**
+   * Returns the revision of this view, which changes whenever this view or any of its
+   * descendants changes structurally, so whenever an item returned by {@code get} may change.
+   * <p>Revisions are ascending: a modification always results in a greater revision than any
+   * revision returned before, allowing composite views to return the maximum revision of
+   * themselves and their children.
+   * <p>A revision of {@link #VOLATILE_REVISION} indicates that this view cannot report changes,
+   * such that no result of {@code get} or {@code renderInto} may be cached.
+   *
+   * @return the current revision, or {@code VOLATILE_REVISION} if changes are not tracked
+   * @implSpec The default implementation returns {@code VOLATILE_REVISION}, since arbitrary
+   * implementations of {@code get} cannot be expected to report their changes. Implementations
+   * that call {@link #markModified()} on every structural change should return
+   * {@link #getModificationStamp()} (combined with the revisions of their children).
+   * @since 2.1
+   */
+  public long getRevision() {
+    return VOLATILE_REVISION;
+  }
+
+  /**
+   * Marks this view as structurally modified, which increments its revision and notifies all
+   * change listeners.
+   * <p>This method must be called after the modification is applied, such that no concurrent
+   * compilation can observe the new revision along with the old content.
+   *
+   * @see #getRevision()
+   * @since 2.1
+   */
+  public void markModified() {
+    if (batchDepth.get() != 0) {
+      // deferred until the outermost transaction is committed
+      batchModified = true;
+      return;
+    }
+    this.modificationStamp = modificationCounter.incrementAndGet();
+    List<InventoryContentListener> listeners;
+    synchronized (this.listeners) {
+      if (this.listeners.isEmpty()) return;
+      listeners = new ArrayList<>(this.listeners);
+    }
+    for (InventoryContentListener listener : listeners)
+      listener.onContentChanged(this);
+  }
+
+  /**
+   * Begins a transaction, deferring the invalidation caused by modifications of this view until
+   * the transaction is committed.
+   * <p>Modifications still take effect immediately, while a transaction is active they just do
+   * not change the revision of this view nor notify its listeners, and no work derived from
+   * modifications (such as the re-creation of pages) is done. A render during the transaction,
+   * for example of a volatile slot or through {@code get}, thus may observe the partially
+   * modified content. Upon the outermost {@link #commit()}, all modifications are consolidated
+   * into a single one.
+   * <p>Transactions may be nested, but must be begun and committed by the same thread.
+   *
+   * @see #commit()
+   * @since 2.1
+   */
+  public void begin() {
+    batchDepth.incrementAndGet();
+  }
+
+  /**
+   * Commits the current transaction. If this is the outermost transaction and this view was
+   * modified within it, this view is marked as modified once.
+   *
+   * @throws IllegalStateException if no transaction is active
+   * @see #begin()
+   * @since 2.1
+   */
+  public void commit() {
+    Preconditions.checkState(batchDepth.get() > 0, "No transaction is active");
+    if (batchDepth.decrementAndGet() != 0 || !batchModified) return;
+    batchModified = false;
+    markModified();
+  }
+
+  /**
+   * Returns true if a transaction is active on this view.
+   *
+   * @see #begin()
+   * @since 2.1
+   */
+  public boolean isBatching() {
+    return batchDepth.get() != 0;
+  }
+
+  /**
+   * Runs {@code action} within a transaction, that is committed afterwards, even if
+   * {@code action} fails.
+   *
+   * @param action the action to run within a transaction
+   * @see #begin()
+   * @since 2.1
+   */
+  protected final void runBatch(Runnable action) {
+    Preconditions.checkNotNull(action, "Action must not be null");
+    begin();
+    try {
+      action.run();
+    } finally {
+      commit();
+    }
+  }
+
+  /**
+   * Tags every slot within this view's area with {@code tag}, such that the slots are
+   * invalidated in every inventory showing this view, when the tag is invalidated.
+   *
+   * @param tag the data key this view depends on
+   * @see com.github.aparx.bgui.core.InventoryTagIndex#invalidateTag(String)
+   * @since 2.1
+   */
+  public void addTag(String tag) {
+    Preconditions.checkNotNull(tag, "Tag must not be null");
+    // the index of inventories showing this view is rebuilt on the next compilation
+    if (tags.add(tag)) markModified();
+  }
+
+  /** @since 2.1 */
+  public void removeTag(String tag) {
+    Preconditions.checkNotNull(tag, "Tag must not be null");
+    if (tags.remove(tag)) markModified();
+  }
+
+  /**
+   * Returns an unmodifiable view of the tags of this view alone (excluding any children).
+   *
+   * @see #addTag(String)
+   * @since 2.1
+   */
+  public Set<String> getTags() {
+    return Collections.unmodifiableSet(tags);
+  }
+
+  /**
+   * Reports every tag of this view and its currently displayed descendants, along with the
+   * absolute area that depends on it.
+   *
+   * @param consumer the consumer accepting each tag and its absolute area
+   * @see #forEachDisplayed(Consumer)
+   * @since 2.1
+   */
+  public final void collectTags(BiConsumer<String, InventorySection> consumer) {
+    Preconditions.checkNotNull(consumer, "Consumer must not be null");
+    forEachDisplayed((view) -> {
+      for (String tag : view.tags)
+        consumer.accept(tag, view.getArea());
+    });
+  }
+
+  /**
+   * Performs {@code action} on this view and all of its currently displayed descendants.
+   *
+   * @param action the action to perform on each view
+   * @implSpec The default implementation performs {@code action} on this view alone. Composite
+   * views must also perform it on their displayed children.
+   * @since 2.1
+   */
+  public void forEachDisplayed(Consumer<? super InventoryContentView> action) {
+    action.accept(this);
+  }
+
+  /**
+   * Registers {@code listener}, that is notified whenever this view is marked as modified.
+   * <p>Listeners are referenced weakly, thus the caller has to keep a strong reference to
+   * {@code listener} as long as it should be notified. Within a transaction, the listeners are
+   * notified once the transaction is committed.
+   *
+   * @param listener the listener to register
+   * @see #markModified()
+   * @since 2.1
+   */
+  public void addChangeListener(InventoryContentListener listener) {
+    Preconditions.checkNotNull(listener, "Listener must not be null");
+    synchronized (listeners) {
+      listeners.add(listener);
+    }
+  }
+
+  /** @since 2.1 */
+  public void removeChangeListener(InventoryContentListener listener) {
+    synchronized (listeners) {
+      listeners.remove(listener);
+    }
+  }
+
+  /**
+   * Returns the stamp of the last modification of this view alone (excluding any children).
+   *
+   * @return the last modification stamp
+   * @since 2.1
+   */
+  protected final long getModificationStamp() {
+    return modificationStamp;
+  }
+
+  /**
+   * Returns the highest revision of {@code x} and {@code y}, or {@code VOLATILE_REVISION} if
+   * any of both is volatile.
+   *
+   * @param x the first revision
+   * @param y the second revision
+   * @return the combined revision
+   * @since 2.1
+   */
+  protected static long combineRevisions(long x, long y) {
+    if (x == VOLATILE_REVISION || y == VOLATILE_REVISION)
+      return VOLATILE_REVISION;
+    return Math.max(x, y);
+  }
+
   /**
    * Returns the totally absolute area.
    * <p>Totally absolute means, that it is relative to the root (being the inventory itself).
@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -42,6 +43,7 @@ public class InventoryLayerGroup extends CopyableInventoryContentView {
 
   public void clear() {
     layers.clear();
+    markModified();
   }
 
   public void addLayer(InventoryContentView layerView) {
@@ -52,17 +54,21 @@ public class InventoryLayerGroup extends CopyableInventoryContentView {
             : getArea()).includes(section),
         "Layer is out of parent");
     layers.add(layerView);
+    markModified();
   }
 
   public void addLayers(InventoryContentView... layers) {
     Validate.noNullElements(layers, "Layer(s) must not be null");
     this.layers.addAll(Arrays.asList(layers));
+    markModified();
   }
 
   @CanIgnoreReturnValue
   public @Nullable InventoryContentView setLayer(int layerIndex, InventoryContentView layerView) {
     Preconditions.checkNotNull(layerView, "Layer must not be null");
-    return layers.set(layerIndex, layerView);
+    @Nullable InventoryContentView previous = layers.set(layerIndex, layerView);
+    markModified();
+    return previous;
   }
 
   public InventoryContentView getLayer(int layerIndex) {
@@ -83,4 +89,71 @@ public class InventoryLayerGroup extends CopyableInventoryContentView {
     return null;
   }
 
+  @Override
+  public long getRevision() {
+    long revision = getModificationStamp();
+    for (InventoryContentView layerView : layers)
+      revision = combineRevisions(revision, layerView.getRevision());
+    return revision;
+  }
+
+  /**
+   * Runs {@code action} within a transaction on this group and all of its currently displayed
+   * descendants (including nested groups and pages), such that all modifications made by it are
+   * consolidated into a single change notification per view.
+   *
+   * @param action the action to run within a transaction
+   * @see #begin()
+   * @see #forEachDisplayed(Consumer)
+   * @since 2.1
+   */
+  public void batch(Consumer<? super InventoryLayerGroup> action) {
+    Preconditions.checkNotNull(action, "Action must not be null");
+    List<InventoryContentView> batchedViews = new ArrayList<>();
+    forEachDisplayed(batchedViews::add);
+    batchedViews.forEach(InventoryContentView::begin);
+    try {
+      action.accept(this);
+    } finally {
+      // commit bottom-up, such that descendants are consolidated before their ancestors
+      for (int i = batchedViews.size(); i > 0; --i)
+        batchedViews.get(i - 1).commit();
+    }
+  }
+
+  @Override
+  public void renderInto(
+      @Nullable InventoryItemAccessor accessor, @Nullable InventoryItem[] buffer, int width) {
+    InventorySection area = getArea();
+    // render bottom to top, such that upper layers override non-transparent slots
+    for (InventoryContentView layerView : layers)
+      if (area.includes(layerView.getArea()))
+        layerView.renderInto(accessor, buffer, width);
+      else
+        renderClipped(layerView, accessor, buffer, width);
+  }
+
+  /** Renders {@code layerView} only within this group's area, as {@code get} clips it */
+  private void renderClipped(InventoryContentView layerView,
+                             @Nullable InventoryItemAccessor accessor,
+                             @Nullable InventoryItem[] buffer, int width) {
+    InventoryPosition begin = getArea().getBegin(), end = getArea().getEnd();
+    int endColumn = Math.min(end.getColumn(), width - 1);
+    for (int row = begin.getRow(); row <= end.getRow(); ++row)
+      for (int column = begin.getColumn(); column <= endColumn; ++column) {
+        int slot = row * width + column;
+        if (slot >= buffer.length) return;
+        InventoryPosition position = InventoryPosition.ofPoint(column, row, width);
+        @Nullable InventoryItem item = layerView.get(accessor, position);
+        if (item != null) buffer[slot] = item;
+      }
+  }
+
+  @Override
+  public void forEachDisplayed(Consumer<? super InventoryContentView> action) {
+    super.forEachDisplayed(action);
+    for (InventoryContentView layerView : layers)
+      layerView.forEachDisplayed(action);
+  }
+
 }
@@ -13,6 +13,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import java.util.Iterator;
+import java.util.function.Consumer;
 import java.util.function.IntFunction;
 
 /**
@@ -54,34 +55,77 @@ public class InventoryStorageLayer extends CopyableInventoryContentView implemen
     return null;
   }
 
+  @Override
+  public long getRevision() {
+    return getModificationStamp();
+  }
+
+  /**
+   * Runs {@code action} within a transaction, such that all modifications made by it are
+   * consolidated into a single change notification.
+   *
+   * @param action the action to run within a transaction
+   * @see #begin()
+   * @since 2.1
+   */
+  public void batch(Consumer<? super InventoryStorageLayer> action) {
+    Preconditions.checkNotNull(action, "Action must not be null");
+    runBatch(() -> action.accept(this));
+  }
+
+  @Override
+  public void renderInto(
+      @Nullable InventoryItemAccessor accessor, @Nullable InventoryItem[] buffer, int width) {
+    InventoryPosition begin = getArea().getBegin();
+    int areaWidth = getDimensions().getWidth();
+    int length = Math.min(getArea().size(), elementIndexMap.capacity());
+    for (int i = 0; i < length; ++i) {
+      @Nullable InventoryItem item = elementIndexMap.get(i);
+      if (item == null) continue;
+      int slot = (begin.getRow() + i / areaWidth) * width + begin.getColumn() + i % areaWidth;
+      if (slot < buffer.length) buffer[slot] = item;
+    }
+  }
+
   @CanIgnoreReturnValue
   public @Nullable InventoryItem set(InventoryPosition position, @Nullable InventoryItem item) {
     int elementIndex = toAreaElementIndex(toAbsolute(position));
     if (elementIndex < 0)
       throw new IllegalArgumentException("Position is outside the view");
-    return elementIndexMap.put(elementIndex, item);
+    // the modification must be visible before the revision changes
+    @Nullable InventoryItem previous = elementIndexMap.put(elementIndex, item);
+    markModified();
+    return previous;
   }
 
   @CanIgnoreReturnValue
   public @Nullable InventoryItem set(int elementIndex, @Nullable InventoryItem item) {
     Preconditions.checkElementIndex(elementIndex, getArea().size());
-    return elementIndexMap.put(elementIndex, item);
+    @Nullable InventoryItem previous = elementIndexMap.put(elementIndex, item);
+    markModified();
+    return previous;
   }
 
   @CanIgnoreReturnValue
   public @Nullable InventoryItem remove(int elementIndex) {
     Preconditions.checkElementIndex(elementIndex, getArea().size());
-    return elementIndexMap.remove(elementIndex);
+    @Nullable InventoryItem previous = elementIndexMap.remove(elementIndex);
+    markModified();
+    return previous;
   }
 
   @CanIgnoreReturnValue
   public boolean remove(int elementIndex, @Nullable InventoryItem item) {
     Preconditions.checkElementIndex(elementIndex, getArea().size());
-    return elementIndexMap.remove(elementIndex, item);
+    if (!elementIndexMap.remove(elementIndex, item))
+      return false;
+    markModified();
+    return true;
   }
 
   public void clear() {
     elementIndexMap.clear();
+    markModified();
   }
 
   public void fill(IntFunction<@Nullable InventoryItem> itemFactory) {
@@ -89,6 +133,7 @@ public class InventoryStorageLayer extends CopyableInventoryContentView implemen
     elementIndexMap.ensureCapacity(length);
     for (int i = 0; i < length; ++i)
       elementIndexMap.put(i, itemFactory.apply(i));
+    markModified();
   }
 
   public void fill(@Nullable InventoryItem item) {
@@ -107,6 +152,7 @@ public class InventoryStorageLayer extends CopyableInventoryContentView implemen
   public void fillTop(@Nullable InventoryItem item) {
     for (int i = getDimensions().getWidth(); i > 0; --i)
       elementIndexMap.put(i - 1, item);
+    markModified();
   }
 
   public void fillBottom(@Nullable InventoryItem item) {
@@ -115,6 +161,7 @@ public class InventoryStorageLayer extends CopyableInventoryContentView implemen
     int fromIndex = dim.size() - width;
     for (int i = 0; i < width; ++i)
       elementIndexMap.put(fromIndex + i, item);
+    markModified();
   }
 
   public void fillSides(@Nullable InventoryItem item) {
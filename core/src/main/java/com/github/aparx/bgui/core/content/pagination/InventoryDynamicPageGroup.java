@@ -7,12 +7,15 @@ import com.github.aparx.bgui.core.dimension.InventorySection;
 import com.github.aparx.bgui.core.content.InventoryStorageLayer;
 import com.github.aparx.bgui.core.item.InventoryItem;
 import com.github.aparx.bgui.core.item.InventoryItemAccessor;
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import org.apache.commons.lang3.ArrayUtils;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -50,6 +53,9 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
   public @Nullable InventoryItem get(
       @Nullable InventoryItemAccessor accessor, InventoryPosition position) {
     synchronized (lock) {
+      if (isBatching())
+        // pages are re-created once the transaction is committed
+        return group.get(accessor, position);
       try {
         if (updatePages) createPages();
         return group.get(accessor, position);
@@ -60,6 +66,55 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
     }
   }
 
+  @Override
+  public long getRevision() {
+    return combineRevisions(getModificationStamp(), group.getRevision());
+  }
+
+  /** Forces a re-creation of all pages on the next lookup and marks this view as modified */
+  @CanIgnoreReturnValue
+  private boolean markPagesModified() {
+    updatePages = true;
+    markModified();
+    return true;
+  }
+
+  @Override
+  public void renderInto(
+      @Nullable InventoryItemAccessor accessor, @Nullable InventoryItem[] buffer, int width) {
+    synchronized (lock) {
+      if (isBatching()) {
+        group.renderInto(accessor, buffer, width);
+        return;
+      }
+      try {
+        if (updatePages) createPages();
+        group.renderInto(accessor, buffer, width);
+      } finally {
+        updatePages = false;
+      }
+    }
+  }
+
+  @Override
+  public void forEachDisplayed(Consumer<? super InventoryContentView> action) {
+    super.forEachDisplayed(action);
+    group.forEachDisplayed(action);
+  }
+
+  /**
+   * Runs {@code action} within a transaction, deferring the re-creation of pages and all
+   * change notifications until {@code action} completed.
+   *
+   * @param action the action to run within a transaction
+   * @see #begin()
+   * @since 2.1
+   */
+  public void batch(Consumer<? super InventoryDynamicPageGroup> action) {
+    Preconditions.checkNotNull(action, "Action must not be null");
+    runBatch(() -> action.accept(this));
+  }
+
   public InventoryPageGroup getGroup() {
     return group;
   }
@@ -180,7 +235,16 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
     public void clear() {
       synchronized (lock) {
         super.clear();
-        updatePages = true;
+        markPagesModified();
+      }
+    }
+
+    @Override
+    public @Nullable InventoryItem set(int index, @Nullable InventoryItem element) {
+      synchronized (lock) {
+        @Nullable InventoryItem previous = super.set(index, element);
+        markPagesModified();
+        return previous;
       }
     }
 
@@ -189,7 +253,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
       synchronized (lock) {
         if (!super.add(item))
           return false;
-        return updatePages = true;
+        return markPagesModified();
       }
     }
 
@@ -197,7 +261,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
     public void add(int index, @Nullable InventoryItem element) {
       synchronized (lock) {
         super.add(index, element);
-        updatePages = true;
+        markPagesModified();
       }
     }
 
@@ -206,7 +270,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
       synchronized (lock) {
         if (!super.remove(o))
           return false;
-        return updatePages = true;
+        return markPagesModified();
       }
     }
 
@@ -214,7 +278,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
     public @Nullable InventoryItem remove(int index) {
       synchronized (lock) {
         @Nullable InventoryItem item = super.remove(index);
-        updatePages |= item != null;
+        if (item != null) markPagesModified();
         return item;
       }
     }
@@ -224,7 +288,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
       synchronized (lock) {
         if (!super.addAll(c))
           return false;
-        return updatePages = true;
+        return markPagesModified();
       }
     }
 
@@ -233,7 +297,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
       synchronized (lock) {
         if (!super.addAll(index, c))
           return false;
-        return updatePages = true;
+        return markPagesModified();
       }
     }
 
@@ -242,7 +306,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
       synchronized (lock) {
         if (!super.removeAll(c))
           return false;
-        return updatePages = true;
+        return markPagesModified();
       }
     }
 
@@ -251,7 +315,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
       synchronized (lock) {
         if (!super.removeIf(filter))
           return false;
-        return updatePages = true;
+        return markPagesModified();
       }
     }
 
@@ -260,7 +324,7 @@ public class InventoryDynamicPageGroup extends CopyableInventoryContentView {
       synchronized (lock) {
         if (!super.retainAll(c))
           return false;
-        return updatePages = true;
+        return markPagesModified();
       }
     }
 
@@ -14,7 +14,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.function.Consumer;
 
 /**
  * An {@code InventoryContentView} implementation, that has the ability to contain multiple pages
@@ -85,12 +87,51 @@ public class InventoryPageGroup extends CopyableInventoryContentView implements
     return (page != null ? page.get(accessor, position) : null);
   }
 
+  @Override
+  public long getRevision() {
+    // only the current page is displayed, thus other pages are not of relevance
+    @Nullable InventoryContentView page = getCurrentPage();
+    long revision = getModificationStamp();
+    return (page != null ? combineRevisions(revision, page.getRevision()) : revision);
+  }
+
+  @Override
+  public void forEachDisplayed(Consumer<? super InventoryContentView> action) {
+    super.forEachDisplayed(action);
+    // only the current page is displayed, thus other pages are not of relevance
+    @Nullable InventoryContentView page = getCurrentPage();
+    if (page != null) page.forEachDisplayed(action);
+  }
+
+  @Override
+  public void renderInto(
+      @Nullable InventoryItemAccessor accessor, @Nullable InventoryItem[] buffer, int width) {
+    @Nullable InventoryContentView page = getCurrentPage();
+    if (page != null)
+      page.renderInto(accessor, buffer, width);
+    if (!hasPagination()) return;
+    // same precedence as `get`: the first type at a position decides, while a missing
+    // placeholder leaves the position to the page, even if a later type shares it
+    BitSet decided = new BitSet();
+    for (PaginationItemType type : PaginationItemType.values()) {
+      PaginationItemHandler.PaginationItem item = itemHandler.get(type);
+      InventoryPosition position = item.getAbsolutePosition();
+      int slot = position.getRow() * width + position.getColumn();
+      if (slot < 0 || slot >= buffer.length || decided.get(slot)) continue;
+      decided.set(slot);
+      @Nullable InventoryItem displayItem = (hasMore(type.getSkipType(), 1)
+          ? item.getItem() : itemHandler.getPlaceholder());
+      if (displayItem != null)
+        buffer[slot] = displayItem;
+    }
+  }
+
   @CanIgnoreReturnValue
   public boolean paginate(int toIndex) {
     if (toIndex < 0 || toIndex >= pages.size())
       return false;
     this.pageIndex = toIndex;
-    // TODO force re-render?
+    markModified();
     return true;
   }
 
@@ -119,6 +160,7 @@ public class InventoryPageGroup extends CopyableInventoryContentView implements
 
   public void clear() {
     pages.clear();
+    markModified();
   }
 
   @CanIgnoreReturnValue
@@ -126,6 +168,7 @@ public class InventoryPageGroup extends CopyableInventoryContentView implements
     Preconditions.checkArgument(getArea().includes(page.getArea()), "Page is larger than parent");
     int index = 1 + pages.size();
     pages.add(page);
+    markModified();
     return index;
   }
 
@@ -67,6 +67,7 @@ public final class PaginationItemHandler {
         InventoryItemFactory.builder(item)
             .addClickHandler((__, event) -> group.paginate(type.getSkipType(), 1))
             .build()));
+    group.markModified();
   }
 
   public PaginationItem get(PaginationItemType type) {
@@ -89,6 +90,7 @@ public final class PaginationItemHandler {
 
   public void setPlaceholder(@Nullable InventoryItem placeholder) {
     this.placeholder = placeholder;
+    group.markModified();
   }
 
   public static class PaginationItem {
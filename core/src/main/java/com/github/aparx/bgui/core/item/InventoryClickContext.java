@@ -0,0 +1,119 @@
+package com.github.aparx.bgui.core.item;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.dimension.InventoryDimensions;
+import com.github.aparx.bgui.core.dimension.InventoryPosition;
+import com.github.aparx.bgui.core.dimension.InventorySection;
+import com.google.common.base.Preconditions;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.BitSet;
+
+/**
+ * The context of a click on an item within a {@code CustomInventory}.
+ * <p>Click handlers use the context to report which slots their click touched, such that only
+ * these slots are repainted after the click. The clicked slot and every slot whose item changed
+ * structurally (for example due to pagination) are always repainted. If a handler cannot tell
+ * which slots it touched, it should call {@link #invalidateAll()}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-08 10:47
+ * @see InventoryClickHandler#handleClick(InventoryClickContext)
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public class InventoryClickContext {
+
+  private final @Nullable CustomInventory inventory;
+  private final InventoryItem item;
+  private final InventoryClickEvent event;
+  /** The width of the inventory, used to map absolute positions to slots */
+  private final int width;
+
+  private final BitSet invalidatedSlots = new BitSet();
+  private boolean invalidatedAll;
+
+  public InventoryClickContext(
+      @Nullable CustomInventory inventory,
+      InventoryItem item,
+      InventoryClickEvent event,
+      int width) {
+    Preconditions.checkNotNull(item, "Item must not be null");
+    Preconditions.checkNotNull(event, "Event must not be null");
+    Preconditions.checkArgument(width >= 1, "Width must at least be one");
+    this.inventory = inventory;
+    this.item = item;
+    this.event = event;
+    this.width = width;
+  }
+
+  /**
+   * Allocates a detached context, that is not bound to any inventory, and whose invalidations
+   * thus have no effect.
+   *
+   * @param item  the clicked item
+   * @param event the click event
+   */
+  public InventoryClickContext(InventoryItem item, InventoryClickEvent event) {
+    this(null, item, event, InventoryDimensions.DEFAULT_WIDTH);
+  }
+
+  /** Returns the clicked inventory, or null if this context is detached */
+  public @Nullable CustomInventory getInventory() {
+    return inventory;
+  }
+
+  public InventoryItem getItem() {
+    return item;
+  }
+
+  public InventoryClickEvent getEvent() {
+    return event;
+  }
+
+  /** Returns the clicked slot */
+  public int getSlot() {
+    return event.getSlot();
+  }
+
+  public void invalidate(int slot) {
+    if (slot >= 0) invalidatedSlots.set(slot);
+  }
+
+  /** @param position the absolute position to be repainted after the click */
+  public void invalidate(InventoryPosition position) {
+    Preconditions.checkNotNull(position, "Position must not be null");
+    invalidate(position.getRow() * width + position.getColumn());
+  }
+
+  /** @param section the absolute section to be repainted after the click */
+  public void invalidate(InventorySection section) {
+    Preconditions.checkNotNull(section, "Section must not be null");
+    InventoryPosition begin = section.getBegin(), end = section.getEnd();
+    int endColumn = Math.min(end.getColumn(), width - 1);
+    for (int row = begin.getRow(); row <= end.getRow(); ++row)
+      invalidatedSlots.set(row * width + begin.getColumn(), row * width + endColumn + 1);
+  }
+
+  /** Requests the entire inventory to be repainted (and its provider updated) after the click */
+  public void invalidateAll() {
+    this.invalidatedAll = true;
+  }
+
+  public boolean isInvalidatedAll() {
+    return invalidatedAll;
+  }
+
+  /**
+   * Returns a copy of all slots that were invalidated through this context.
+   *
+   * @return the invalidated slots (excluding the clicked slot, unless invalidated explicitly)
+   */
+  public BitSet getInvalidatedSlots() {
+    return (BitSet) invalidatedSlots.clone();
+  }
+
+}
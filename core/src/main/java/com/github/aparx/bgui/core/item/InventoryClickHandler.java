@@ -8,6 +8,7 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -21,11 +22,36 @@ public interface InventoryClickHandler {
 
   void handleClick(@NonNull InventoryItem item, @NonNull InventoryClickEvent event);
 
+  /**
+   * Handles a click through {@code context}, with which this handler can report the slots that
+   * its click touched, such that only those are repainted.
+   *
+   * @param context the context of the click
+   * @implSpec The default implementation delegates to
+   * {@link #handleClick(InventoryItem, InventoryClickEvent)}, reporting no slots.
+   * @see InventoryClickContext
+   * @since 2.1
+   */
+  default void handleClick(@NonNull InventoryClickContext context) {
+    handleClick(context.getItem(), context.getEvent());
+  }
+
   default InventoryClickHandler andThen(InventoryClickHandler handler) {
-    return (handler != null ? (item, event) -> {
-      this.handleClick(item, event);
-      handler.handleClick(item, event);
-    } : this);
+    if (handler == null) return this;
+    InventoryClickHandler first = this;
+    return new InventoryClickHandler() {
+      @Override
+      public void handleClick(@NonNull InventoryItem item, @NonNull InventoryClickEvent event) {
+        first.handleClick(item, event);
+        handler.handleClick(item, event);
+      }
+
+      @Override
+      public void handleClick(@NonNull InventoryClickContext context) {
+        first.handleClick(context);
+        handler.handleClick(context);
+      }
+    };
   }
 
   /**
@@ -57,9 +83,18 @@ public interface InventoryClickHandler {
   static InventoryClickHandler of(InventoryClickHandler handler, ClickType type) {
     Preconditions.checkNotNull(handler, "Handler must not be null");
     Preconditions.checkNotNull(type, "Type must not be null");
-    return (item, event) -> {
-      if (Objects.equals(type, event.getClick()))
-        handler.handleClick(item, event);
+    return new InventoryClickHandler() {
+      @Override
+      public void handleClick(@NonNull InventoryItem item, @NonNull InventoryClickEvent event) {
+        if (Objects.equals(type, event.getClick()))
+          handler.handleClick(item, event);
+      }
+
+      @Override
+      public void handleClick(@NonNull InventoryClickContext context) {
+        if (Objects.equals(type, context.getEvent().getClick()))
+          handler.handleClick(context);
+      }
     };
   }
 
@@ -73,9 +108,44 @@ public interface InventoryClickHandler {
   static InventoryClickHandler of(InventoryClickHandler handler, ClickType... types) {
     Preconditions.checkNotNull(handler, "Handler must not be null");
     Validate.noNullElements(types, "Type(s) must not be null");
-    return (item, event) -> {
-      if (ArrayUtils.contains(types, event.getClick()))
-        handler.handleClick(item, event);
+    return new InventoryClickHandler() {
+      @Override
+      public void handleClick(@NonNull InventoryItem item, @NonNull InventoryClickEvent event) {
+        if (ArrayUtils.contains(types, event.getClick()))
+          handler.handleClick(item, event);
+      }
+
+      @Override
+      public void handleClick(@NonNull InventoryClickContext context) {
+        if (ArrayUtils.contains(types, context.getEvent().getClick()))
+          handler.handleClick(context);
+      }
+    };
+  }
+
+  /**
+   * Returns a new handler that passes the context of each click to {@code handler}, allowing it
+   * to report the slots its click touched.
+   * <p>If the returned handler is invoked without a context, {@code handler} receives a detached
+   * context, whose invalidations have no effect.
+   *
+   * @param handler the handler to be called with the context of each click
+   * @return the newly allocated click handler
+   * @see InventoryClickContext
+   * @since 2.1
+   */
+  static InventoryClickHandler contextual(Consumer<@NonNull InventoryClickContext> handler) {
+    Preconditions.checkNotNull(handler, "Handler must not be null");
+    return new InventoryClickHandler() {
+      @Override
+      public void handleClick(@NonNull InventoryItem item, @NonNull InventoryClickEvent event) {
+        handler.accept(new InventoryClickContext(item, event));
+      }
+
+      @Override
+      public void handleClick(@NonNull InventoryClickContext context) {
+        handler.accept(context);
+      }
     };
   }
 
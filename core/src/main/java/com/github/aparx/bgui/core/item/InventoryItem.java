@@ -4,6 +4,9 @@ import org.bukkit.inventory.ItemStack;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * @author aparx (Vinzent Z.)
  * @version 2023-12-23 15:01
@@ -11,6 +14,67 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public interface InventoryItem extends InventoryClickHandler {
 
+  /**
+   * Refresh period of items that are refreshed on every update of their inventory.
+   *
+   * @see #getRefreshPeriod()
+   * @since 2.1
+   */
+  long REFRESH_INHERIT = -1;
+
+  /**
+   * Refresh period of items that are never refreshed periodically, but only when they are
+   * invalidated or their slot changes structurally.
+   *
+   * @see #getRefreshPeriod()
+   * @since 2.1
+   */
+  long REFRESH_NEVER = Long.MAX_VALUE;
+
   @Nullable ItemStack get(@NonNull InventoryItemAccessor accessor);
 
+  /**
+   * Returns true if {@link #get(InventoryItemAccessor)} is thread-safe, such that the item stack
+   * of this item may be prepared on a worker thread ahead of a render.
+   *
+   * @return true if this item can be computed concurrently, false by default
+   * @see com.github.aparx.bgui.core.render.PreparedFrame
+   * @since 2.1
+   */
+  default boolean isConcurrent() {
+    return false;
+  }
+
+  /**
+   * Returns the number of ticks between two periodic refreshes of this item.
+   * <p>On a periodic update of an inventory, the slot of this item is only rendered again if
+   * its refresh period elapsed since it was last rendered. Thus, for example a clock can be
+   * refreshed every second, while decorations are never refreshed. The update interval of the
+   * inventory acts as the resolution of refresh periods, such that an item is never refreshed
+   * more often than its inventory is updated.
+   * <p>Invalidated slots and slots that change structurally are always rendered.
+   *
+   * @return the refresh period in ticks, {@link #REFRESH_INHERIT} to be refreshed on every
+   * update of the inventory (the default), or {@link #REFRESH_NEVER} to never be refreshed
+   * periodically
+   * @since 2.1
+   */
+  default long getRefreshPeriod() {
+    return REFRESH_INHERIT;
+  }
+
+  /**
+   * Returns the data keys this item depends on, such as {@code "auction:42"}.
+   * <p>Whenever a tag is invalidated, every slot displaying this item is invalidated in every
+   * inventory showing it. Tags are read when the content of an inventory is compiled, thus
+   * they should not change while this item is displayed.
+   *
+   * @return the tags of this item, empty by default
+   * @see com.github.aparx.bgui.core.InventoryTagIndex#invalidateTag(String)
+   * @since 2.1
+   */
+  default @NonNull Set<@NonNull String> getTags() {
+    return Collections.emptySet();
+  }
+
 }
@@ -0,0 +1,25 @@
+package com.github.aparx.bgui.core.item;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Listener that is notified whenever an item changes what it displays or how it handles clicks.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 16:20
+ * @see MutableInventoryItem#addChangeListener(InventoryItemListener)
+ * @since 2.1
+ */
+@FunctionalInterface
+@DefaultQualifier(NonNull.class)
+public interface InventoryItemListener {
+
+  /**
+   * Called after {@code item} changed, on the thread that changed it.
+   *
+   * @param item the changed item
+   */
+  void onItemChanged(InventoryItem item);
+
+}
@@ -8,7 +8,14 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 
 /**
@@ -19,8 +26,14 @@ import java.util.function.Function;
 @DefaultQualifier(NonNull.class)
 public class MutableInventoryItem implements InventoryItem {
 
-  private @Nullable Function<InventoryItemAccessor, @Nullable ItemStack> itemFactory;
-  private @Nullable InventoryClickHandler clickHandler;
+  private volatile @Nullable Function<InventoryItemAccessor, @Nullable ItemStack> itemFactory;
+  private volatile @Nullable InventoryClickHandler clickHandler;
+  private volatile boolean concurrent;
+  private volatile Set<String> tags = Collections.emptySet();
+
+  /** Weakly referenced listeners, guarded by itself */
+  private final Set<InventoryItemListener> listeners =
+      Collections.newSetFromMap(new WeakHashMap<>());
 
   public MutableInventoryItem(
       @Nullable Function<InventoryItemAccessor, @Nullable ItemStack> itemFactory) {
@@ -28,8 +41,9 @@ public class MutableInventoryItem implements InventoryItem {
   }
 
   public void update(MutableInventoryItem newItem) {
-    set(newItem.getFactory());
-    setClickHandler(newItem.getClickHandler());
+    this.itemFactory = newItem.getFactory();
+    this.clickHandler = newItem.getClickHandler();
+    notifyChanged();
   }
 
   public void set(Material material) {
@@ -43,6 +57,7 @@ public class MutableInventoryItem implements InventoryItem {
 
   public void set(@Nullable Function<InventoryItemAccessor, @Nullable ItemStack> itemFactory) {
     this.itemFactory = itemFactory;
+    notifyChanged();
   }
 
   public @Nullable Function<InventoryItemAccessor, @Nullable ItemStack> getFactory() {
@@ -51,12 +66,80 @@ public class MutableInventoryItem implements InventoryItem {
 
   public void setClickHandler(@Nullable InventoryClickHandler clickHandle) {
     this.clickHandler = clickHandle;
+    notifyChanged();
   }
 
   public @Nullable InventoryClickHandler getClickHandler() {
     return clickHandler;
   }
 
+  /**
+   * Registers {@code listener}, that is notified whenever this item is changed through
+   * {@code set}, {@code update} or {@code setClickHandler}.
+   * <p>Listeners are referenced weakly, thus the caller has to keep a strong reference to
+   * {@code listener} as long as it should be notified.
+   *
+   * @param listener the listener to register
+   * @since 2.1
+   */
+  public void addChangeListener(InventoryItemListener listener) {
+    Preconditions.checkNotNull(listener, "Listener must not be null");
+    synchronized (listeners) {
+      listeners.add(listener);
+    }
+  }
+
+  /** @since 2.1 */
+  public void removeChangeListener(InventoryItemListener listener) {
+    synchronized (listeners) {
+      listeners.remove(listener);
+    }
+  }
+
+  /** Notifies all change listeners, that this item changed */
+  protected void notifyChanged() {
+    List<InventoryItemListener> listeners;
+    synchronized (this.listeners) {
+      if (this.listeners.isEmpty()) return;
+      listeners = new ArrayList<>(this.listeners);
+    }
+    for (InventoryItemListener listener : listeners)
+      listener.onItemChanged(this);
+  }
+
+  /**
+   * Declares whether the factory of this item is thread-safe.
+   *
+   * @param concurrent true if the factory may be called on worker threads
+   * @see InventoryItem#isConcurrent()
+   * @since 2.1
+   */
+  public void setConcurrent(boolean concurrent) {
+    this.concurrent = concurrent;
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return concurrent;
+  }
+
+  /**
+   * Updates the data keys this item depends on.
+   *
+   * @param tags the new tags of this item
+   * @see InventoryItem#getTags()
+   * @since 2.1
+   */
+  public void setTags(String... tags) {
+    Preconditions.checkNotNull(tags, "Tags must not be null");
+    this.tags = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(tags)));
+  }
+
+  @Override
+  public Set<String> getTags() {
+    return tags;
+  }
+
   @Override
   public @Nullable ItemStack get(@NonNull InventoryItemAccessor accessor) {
     return (itemFactory != null ? itemFactory.apply(accessor) : null);
@@ -67,6 +150,11 @@ public class MutableInventoryItem implements InventoryItem {
     if (clickHandler != null) clickHandler.handleClick(item, event);
   }
 
+  @Override
+  public void handleClick(@NonNull InventoryClickContext context) {
+    if (clickHandler != null) clickHandler.handleClick(context);
+  }
+
   @Override
   public boolean equals(Object object) {
     if (this == object) return true;
@@ -0,0 +1,106 @@
+package com.github.aparx.bgui.core.provider;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.content.InventoryContentView;
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An inventory provider, whose updates are computed asynchronously.
+ * <p>Whenever a {@code CustomInventory} is updated, it requests new content through
+ * {@link #updateAsync(CustomInventory)} and keeps rendering its last committed content in the
+ * meantime. As soon as the returned future completes, the new content is committed on the main
+ * thread. Results of requests that are older than an already committed result are dropped.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 10:34
+ * @since 2.1
+ */
+public interface AsyncInventoryProvider extends InventoryProvider {
+
+  /**
+   * Returns a new provider, that initializes its content through {@code init} and loads its
+   * updated content through {@code loader} on {@code executor}.
+   *
+   * @param init     the supplier of the initial content, called on the calling thread
+   * @param loader   the loader of updated content, called on {@code executor}
+   * @param executor the executor to load the updated content on
+   * @return the newly allocated asynchronous provider
+   */
+  static AsyncInventoryProvider of(
+      @NonNull Supplier<@NonNull InventoryContentView> init,
+      @NonNull Function<CustomInventory, @NonNull InventoryContentView> loader,
+      @NonNull Executor executor) {
+    return new ExecutorInventoryProvider(init, loader, executor);
+  }
+
+  /** @see #of(Supplier, Function, Executor) */
+  static AsyncInventoryProvider of(
+      @NonNull Supplier<@NonNull InventoryContentView> init,
+      @NonNull Function<CustomInventory, @NonNull InventoryContentView> loader) {
+    return of(init, loader, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Requests the updated content for {@code accessor}.
+   * <p>This method is called on the main thread and should not block, the returned future may
+   * be completed on any thread.
+   *
+   * @param accessor the inventory to update
+   * @return the future of the updated content
+   */
+  @NonNull CompletableFuture<@NonNull InventoryContentView> updateAsync(CustomInventory accessor);
+
+  /**
+   * Returns the content last committed to {@code accessor}, since updates of this provider are
+   * only committed once completed.
+   */
+  @Override
+  default @NonNull InventoryContentView update(CustomInventory accessor) {
+    @Nullable InventoryContentView content = accessor.getContent();
+    Preconditions.checkNotNull(content, "Content must not be null");
+    return content;
+  }
+
+  @DefaultQualifier(NonNull.class)
+  final class ExecutorInventoryProvider implements AsyncInventoryProvider {
+
+    private final Supplier<InventoryContentView> init;
+    private final Function<CustomInventory, InventoryContentView> loader;
+    private final Executor executor;
+
+    ExecutorInventoryProvider(Supplier<InventoryContentView> init,
+                              Function<CustomInventory, InventoryContentView> loader,
+                              Executor executor) {
+      Preconditions.checkNotNull(init, "Init must not be null");
+      Preconditions.checkNotNull(loader, "Loader must not be null");
+      Preconditions.checkNotNull(executor, "Executor must not be null");
+      this.init = init;
+      this.loader = loader;
+      this.executor = executor;
+    }
+
+    @Override
+    public InventoryContentView init() {
+      return init.get();
+    }
+
+    @Override
+    public CompletableFuture<InventoryContentView> updateAsync(CustomInventory accessor) {
+      return CompletableFuture.supplyAsync(() -> loader.apply(accessor), executor);
+    }
+
+    public Executor getExecutor() {
+      return executor;
+    }
+  }
+
+}
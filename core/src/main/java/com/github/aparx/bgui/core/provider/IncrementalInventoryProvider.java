@@ -0,0 +1,39 @@
+package com.github.aparx.bgui.core.provider;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.content.InventoryContentView;
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An inventory provider, whose periodic updates report what changed, rather than providing
+ * the entire content.
+ * <p>On each periodic update, a {@code CustomInventory} only renders what the returned
+ * {@link InventoryPatch} reports: nothing for {@link InventoryPatch#none()}, only the changed
+ * slots for a slot patch, or everything, if the patch replaces the content. This suits content
+ * of which only a few entries change per update, such as leaderboards.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-12 09:58
+ * @since 2.1
+ */
+public interface IncrementalInventoryProvider extends InventoryProvider {
+
+  /**
+   * Updates the content of {@code accessor} and returns a patch describing the changes.
+   *
+   * @param accessor the inventory to update
+   * @return the patch, {@link InventoryPatch#none()} if nothing changed
+   */
+  @NonNull InventoryPatch updatePatch(CustomInventory accessor);
+
+  /** Returns the current content of {@code accessor}, since updates are only patches */
+  @Override
+  default @NonNull InventoryContentView update(CustomInventory accessor) {
+    @Nullable InventoryContentView content = accessor.getContent();
+    Preconditions.checkNotNull(content, "Content must not be null");
+    return content;
+  }
+
+}
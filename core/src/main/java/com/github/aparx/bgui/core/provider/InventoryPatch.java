@@ -0,0 +1,120 @@
+package com.github.aparx.bgui.core.provider;
+
+import com.github.aparx.bgui.core.content.InventoryContentView;
+import com.github.aparx.bgui.core.dimension.InventoryPosition;
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The result of an incremental provider update, that describes what changed since the last
+ * update.
+ * <p>A patch either reports no change at all, a set of changed slots or positions, that are the
+ * only ones rendered again, or entirely new content, that replaces the current content.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-12 09:41
+ * @see IncrementalInventoryProvider
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class InventoryPatch {
+
+  private static final InventoryPatch NONE = new InventoryPatch(null, null, null);
+
+  private final @Nullable BitSet slots;
+
+  private final @Nullable List<InventoryPosition> positions;
+
+  private final @Nullable InventoryContentView content;
+
+  private InventoryPatch(@Nullable BitSet slots, @Nullable List<InventoryPosition> positions,
+                         @Nullable InventoryContentView content) {
+    this.slots = slots;
+    this.positions = positions;
+    this.content = content;
+  }
+
+  /** Returns the patch that represents no change at all, such that nothing is rendered */
+  public static InventoryPatch none() {
+    return NONE;
+  }
+
+  /**
+   * Returns a patch, that reports the given slots as changed.
+   *
+   * @param slots the changed slots
+   * @return the new patch
+   */
+  public static InventoryPatch ofSlots(int... slots) {
+    Preconditions.checkNotNull(slots, "Slots must not be null");
+    BitSet bitSet = new BitSet();
+    for (int slot : slots) {
+      Preconditions.checkArgument(slot >= 0, "Slot must not be negative");
+      bitSet.set(slot);
+    }
+    return new InventoryPatch(bitSet, null, null);
+  }
+
+  /**
+   * Returns a patch, that reports the given slots as changed.
+   *
+   * @param slots the changed slots, which is copied
+   * @return the new patch
+   */
+  public static InventoryPatch ofSlots(BitSet slots) {
+    Preconditions.checkNotNull(slots, "Slots must not be null");
+    return new InventoryPatch((BitSet) slots.clone(), null, null);
+  }
+
+  /**
+   * Returns a patch, that reports the given (absolute) positions as changed.
+   *
+   * @param positions the changed positions
+   * @return the new patch
+   */
+  public static InventoryPatch ofPositions(InventoryPosition... positions) {
+    Preconditions.checkNotNull(positions, "Positions must not be null");
+    return new InventoryPatch(null, List.of(positions), null);
+  }
+
+  /**
+   * Returns a patch, that replaces the current content with {@code content}.
+   *
+   * @param content the new content
+   * @return the new patch
+   */
+  public static InventoryPatch ofContent(InventoryContentView content) {
+    Preconditions.checkNotNull(content, "Content must not be null");
+    return new InventoryPatch(null, null, content);
+  }
+
+  /** Returns true if this patch does not change anything */
+  public boolean isEmpty() {
+    return this == NONE;
+  }
+
+  /** Returns the content that replaces the current content, null if the content is kept */
+  public @Nullable InventoryContentView getContent() {
+    return content;
+  }
+
+  /**
+   * Returns the slots this patch reports as changed, for an inventory of {@code width}.
+   *
+   * @param width the width of the inventory
+   * @return a new set of changed slots
+   */
+  public BitSet toSlots(int width) {
+    BitSet target = (slots != null ? (BitSet) slots.clone() : new BitSet());
+    if (positions != null)
+      for (InventoryPosition position : positions)
+        target.set(position.getRow() * width + position.getColumn());
+    return target;
+  }
+
+}
@@ -0,0 +1,82 @@
+package com.github.aparx.bgui.core.render;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A per-slot shadow of the item stacks that were last pushed into a Bukkit inventory.
+ * <p>The frame is used for differential rendering: a slot is only written to the inventory if
+ * its new item stack differs from the one that was last written. Since every {@code setItem}
+ * call results in a packet being sent to all viewers, skipping unchanged slots avoids redundant
+ * network traffic when the output of a render equals the previous render.
+ * <p>Item stacks are copied before they are stored, such that in-place mutations of a stack
+ * that is reused by an item factory are still detected as a change.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-06 14:12
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class InventoryFrame {
+
+  private final @Nullable ItemStack[] shadow;
+
+  /** Slots whose shadow is unknown and must be written regardless of their content */
+  private final BitSet invalid;
+
+  public InventoryFrame(int size) {
+    Preconditions.checkArgument(size >= 0, "Size must not be negative");
+    this.shadow = new ItemStack[size];
+    this.invalid = new BitSet(size);
+    this.invalid.set(0, size);
+  }
+
+  /**
+   * Writes {@code itemStack} into {@code slot} of {@code inventory}, if it differs from the item
+   * stack last written to that slot through this frame.
+   *
+   * @param inventory the inventory to write to
+   * @param slot      the target slot index
+   * @param itemStack the item stack to be written, null to represent an empty slot
+   * @return true if the slot was written to, false if it was skipped
+   */
+  public boolean apply(Inventory inventory, int slot, @Nullable ItemStack itemStack) {
+    Preconditions.checkElementIndex(slot, shadow.length);
+    if (!invalid.get(slot) && Objects.equals(shadow[slot], itemStack))
+      return false;
+    inventory.setItem(slot, itemStack);
+    shadow[slot] = (itemStack != null ? itemStack.clone() : null);
+    invalid.clear(slot);
+    return true;
+  }
+
+  /**
+   * Invalidates the shadow of {@code slot}, such that the next {@code apply} on that slot is
+   * guaranteed to write to the inventory.
+   *
+   * @param slot the slot to invalidate
+   */
+  public void invalidate(int slot) {
+    if (slot >= 0 && slot < shadow.length)
+      invalid.set(slot);
+  }
+
+  /** Invalidates every slot of this frame. */
+  public void invalidate() {
+    Arrays.fill(shadow, null);
+    invalid.set(0, shadow.length);
+  }
+
+  public int size() {
+    return shadow.length;
+  }
+
+}
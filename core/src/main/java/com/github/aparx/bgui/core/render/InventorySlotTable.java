@@ -0,0 +1,135 @@
+package com.github.aparx.bgui.core.render;
+
+import com.github.aparx.bgui.core.content.InventoryContentView;
+import com.github.aparx.bgui.core.item.InventoryItem;
+import com.github.aparx.bgui.core.item.InventoryItemAccessor;
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A flat dispatch table that maps each slot of a root inventory to the item it displays.
+ * <p>The table is compiled from a (possibly nested) content view through a single
+ * {@link InventoryContentView#renderInto(InventoryItemAccessor, InventoryItem[], int)}
+ * traversal. Afterwards, each slot is resolved through a single array read. The table is only
+ * compiled again, if the content view reports a different revision, or if it is volatile.
+ * <p>Every slot whose item changed through a compilation is recorded, until the changes are
+ * drained by the renderer. This allows to repaint only those slots that changed structurally,
+ * regardless of who triggered the compilation.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-07 11:03
+ * @see InventoryContentView#getRevision()
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class InventorySlotTable {
+
+  private @Nullable InventoryItem[] items = new InventoryItem[0];
+
+  /** The previously compiled table, reused as buffer for the next compilation */
+  private @Nullable InventoryItem[] spare = new InventoryItem[0];
+
+  /** Slots whose item changed through compilations since the last drain */
+  private final BitSet changes = new BitSet();
+
+  private @Nullable InventoryContentView view;
+
+  private long revision = InventoryContentView.VOLATILE_REVISION;
+
+  /**
+   * Compiles this table from {@code view}, if the view or its revision changed since the last
+   * compilation, or if the view is volatile.
+   *
+   * @param view     the root content view to compile
+   * @param accessor the accessor that accesses the items
+   * @return true if this table was compiled, false if it was up-to-date
+   */
+  @CanIgnoreReturnValue
+  public boolean revalidate(InventoryContentView view, @Nullable InventoryItemAccessor accessor) {
+    Preconditions.checkNotNull(view, "View must not be null");
+    long currentRevision = view.getRevision();
+    if (view == this.view && currentRevision == revision
+        && currentRevision != InventoryContentView.VOLATILE_REVISION)
+      return false;
+    compile(view, accessor);
+    return true;
+  }
+
+  /**
+   * Compiles this table from {@code view} unconditionally.
+   *
+   * @param view     the root content view to compile
+   * @param accessor the accessor that accesses the items
+   */
+  public void compile(InventoryContentView view, @Nullable InventoryItemAccessor accessor) {
+    Preconditions.checkNotNull(view, "View must not be null");
+    long revisionBefore = view.getRevision();
+    int length = view.getArea().size();
+    @Nullable InventoryItem[] previous = items;
+    @Nullable InventoryItem[] next = spare;
+    if (next.length != length)
+      next = new InventoryItem[length];
+    else
+      Arrays.fill(next, null);
+    view.renderInto(accessor, next, view.getDimensions().getWidth());
+    for (int i = 0; i < length; ++i)
+      if (i >= previous.length || previous[i] != next[i])
+        changes.set(i);
+    this.spare = previous;
+    this.items = next;
+    // lazily built views (e.g. dynamic pages) may change their revision while rendering, thus
+    // the revision is only accepted if it was stable throughout the compilation
+    long revisionAfter = view.getRevision();
+    this.revision = (revisionBefore == revisionAfter
+        ? revisionAfter : InventoryContentView.VOLATILE_REVISION);
+    this.view = view;
+  }
+
+  /**
+   * Moves all slots whose item changed through compilations since the last drain into
+   * {@code target}.
+   *
+   * @param target the set to add the changed slots to
+   */
+  public void drainChanges(BitSet target) {
+    target.or(changes);
+    changes.clear();
+  }
+
+  /** Discards all recorded changes, for example after every slot was rendered. */
+  public void clearChanges() {
+    changes.clear();
+  }
+
+  /** Forces the next {@code revalidate} to compile this table. */
+  public void invalidate() {
+    this.revision = InventoryContentView.VOLATILE_REVISION;
+  }
+
+  /**
+   * Returns the item compiled for {@code slot}.
+   *
+   * @param slot the slot of the root inventory
+   * @return the item at {@code slot}, or null if the slot is empty or out of bounds
+   */
+  public @Nullable InventoryItem get(int slot) {
+    @Nullable InventoryItem[] items = this.items;
+    return (slot >= 0 && slot < items.length ? items[slot] : null);
+  }
+
+  /** Returns the number of slots that this table was last compiled for. */
+  public int size() {
+    return items.length;
+  }
+
+  public @Nullable InventoryContentView getView() {
+    return view;
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.github.aparx.bgui.core.render;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.item.InventoryItem;
+import com.google.common.base.Preconditions;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.function.IntPredicate;
+
+/**
+ * The item stacks of all concurrent items of a slot table, computed ahead of a render.
+ * <p>A frame is captured on the main thread and then {@link #compute(CustomInventory)
+ * computed} on any thread, such that a subsequent render on the main thread only has to apply
+ * the prepared item stacks, instead of computing them. A prepared item stack is only used for a
+ * slot, if the slot still displays the same item that it displayed at capture.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 16:18
+ * @see InventoryItem#isConcurrent()
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class PreparedFrame {
+
+  private final @Nullable InventoryItem[] items;
+
+  private final @Nullable ItemStack[] stacks;
+
+  private volatile boolean computed;
+
+  private PreparedFrame(@Nullable InventoryItem[] items) {
+    this.items = items;
+    this.stacks = new ItemStack[items.length];
+  }
+
+  /**
+   * Captures all concurrent items of the first {@code length} slots of {@code table}.
+   *
+   * @param table  the compiled slot table to capture
+   * @param length the number of slots to capture
+   * @return the captured frame, or null if {@code table} contains no concurrent item
+   */
+  public static @Nullable PreparedFrame capture(InventorySlotTable table, int length) {
+    return capture(table, length, (slot) -> true);
+  }
+
+  /**
+   * Captures all concurrent items of the first {@code length} slots of {@code table}, whose
+   * slot is accepted by {@code filter}.
+   *
+   * @param table  the compiled slot table to capture
+   * @param length the number of slots to capture
+   * @param filter the filter of slots to capture, for example slots that are due for a refresh
+   * @return the captured frame, or null if no accepted slot contains a concurrent item
+   */
+  public static @Nullable PreparedFrame capture(
+      InventorySlotTable table, int length, IntPredicate filter) {
+    Preconditions.checkNotNull(table, "Table must not be null");
+    Preconditions.checkNotNull(filter, "Filter must not be null");
+    @Nullable InventoryItem[] items = null;
+    for (int slot = Math.min(length, table.size()) - 1; slot >= 0; --slot) {
+      if (!filter.test(slot)) continue;
+      @Nullable InventoryItem item = table.get(slot);
+      if (item == null || !item.isConcurrent()) continue;
+      if (items == null)
+        items = new InventoryItem[slot + 1];
+      items[slot] = item;
+    }
+    return (items != null ? new PreparedFrame(items) : null);
+  }
+
+  /**
+   * Computes the item stacks of all captured items. This method may be called on any thread.
+   *
+   * @param inventory the inventory that accesses the items
+   */
+  public void compute(CustomInventory inventory) {
+    for (int slot = 0; slot < items.length; ++slot) {
+      @Nullable InventoryItem item = items[slot];
+      if (item != null)
+        stacks[slot] = RenderContext.render(item, inventory, slot);
+    }
+    computed = true;
+  }
+
+  /** Returns true if the item stack of {@code item} at {@code slot} is prepared */
+  public boolean isPrepared(int slot, @Nullable InventoryItem item) {
+    return computed && item != null && slot >= 0 && slot < items.length && items[slot] == item;
+  }
+
+  public @Nullable ItemStack getStack(int slot) {
+    return stacks[slot];
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.github.aparx.bgui.core.render;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.item.InventoryItem;
+import com.google.common.base.Preconditions;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * The inventory and slot, whose item stack is currently being computed on the current thread.
+ * <p>While an item computes its item stack through
+ * {@link #render(InventoryItem, CustomInventory, int)}, the context is accessible through
+ * {@link #current()}. This allows state read by the item to record which slot depends on it, and
+ * to {@link #invalidate() invalidate} exactly that slot once it changes, instead of polling.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 12:05
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class RenderContext {
+
+  private static final ThreadLocal<@Nullable RenderContext> current = new ThreadLocal<>();
+
+  private final CustomInventory inventory;
+
+  private final int slot;
+
+  private RenderContext(CustomInventory inventory, int slot) {
+    this.inventory = inventory;
+    this.slot = slot;
+  }
+
+  /**
+   * Returns the context of the item stack currently being computed on this thread.
+   *
+   * @return the current context, or null if no item stack is being computed
+   */
+  public static @Nullable RenderContext current() {
+    return current.get();
+  }
+
+  /**
+   * Computes the item stack of {@code item} displayed at {@code slot} of {@code inventory},
+   * within a context for that slot.
+   *
+   * @param item      the item to compute
+   * @param inventory the inventory that displays the item, and accesses it
+   * @param slot      the slot at which the item is displayed
+   * @return the computed item stack
+   */
+  public static @Nullable ItemStack render(
+      InventoryItem item, CustomInventory inventory, int slot) {
+    Preconditions.checkNotNull(item, "Item must not be null");
+    Preconditions.checkNotNull(inventory, "Inventory must not be null");
+    @Nullable RenderContext previous = current.get();
+    current.set(new RenderContext(inventory, slot));
+    try {
+      return item.get(inventory);
+    } finally {
+      if (previous != null)
+        current.set(previous);
+      else
+        current.remove();
+    }
+  }
+
+  /** Invalidates the slot of this context, such that it is rendered in the next tick */
+  public void invalidate() {
+    inventory.invalidate(slot);
+  }
+
+  public CustomInventory getInventory() {
+    return inventory;
+  }
+
+  public int getSlot() {
+    return slot;
+  }
+
+}
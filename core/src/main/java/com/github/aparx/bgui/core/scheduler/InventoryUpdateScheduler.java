@@ -0,0 +1,464 @@
+package com.github.aparx.bgui.core.scheduler;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.InventoryUpdatePriority;
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * The scheduler, that updates all custom inventories of a plugin from a single task.
+ * <p>Instead of every inventory owning its own Bukkit task, the next update of each inventory is
+ * kept in a {@link TimingWheel}. The scheduler's task runs every tick and only updates the
+ * inventories that are due, thus scheduling, cancelling and ticking is done in constant time,
+ * regardless of how many inventories exist. The task is only running while there is work left.
+ * <p>Inventories of the same update interval are assigned phases, that spread their updates
+ * evenly across the interval, such that the load of each tick stays flat, even if many
+ * inventories are shown within the same tick.
+ * <p>The time spent on running work within a single tick can be limited through a
+ * {@link #setTickBudget(long, TimeUnit) tick budget}. Work that does not fit the budget is
+ * deferred to the next tick, while work is run in order of priority: inventories that a viewer
+ * recently clicked in come first, followed by flushes of invalidations and then by periodic
+ * (background) refreshes, each ordered by higher update priority and more viewers. Tasks that do
+ * not render, such as {@link #execute(Runnable) executed} tasks, are run before and outside of
+ * the budget.
+ * <p>Before periodic updates are run, the item stacks of all
+ * {@link com.github.aparx.bgui.core.item.InventoryItem#isConcurrent() concurrent} items of the due
+ * inventories are prepared in parallel on the {@link #setPreparationExecutor(Executor)
+ * preparation executor}, such that the main thread mostly applies prepared item stacks. With a
+ * tick budget, updates are prepared in small batches right before they are run, such that only
+ * work that fits the budget is prepared, while the time spent on preparing counts against it.
+ * <p>The scheduler measures the duration of ticks. While the server falls behind, the update
+ * intervals of inventories are stretched by the {@link #getLoadFactor() load factor}, according
+ * to their {@link InventoryUpdatePriority}, and return to their configured intervals as soon as
+ * the server recovers.
+ * <p>All methods of this class are thread-safe, while updates and tasks are always run on the
+ * main thread.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 14:27
+ * @see #of(Plugin)
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class InventoryUpdateScheduler {
+
+  /** The tick budget representing no limitation */
+  public static final long UNLIMITED_BUDGET = Long.MAX_VALUE;
+
+  /** The number of ticks after a click, in which an inventory is considered recently clicked */
+  public static final long RECENT_INTERACTION_TICKS = 20;
+
+  /** The number of ticks after which deferred work is run before any other work */
+  public static final long MAX_DEFERRAL_TICKS = 20;
+
+  /** The duration of a tick in nanoseconds, while the server is not under load */
+  public static final long TARGET_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  /** The maximum load factor, with which update intervals are stretched */
+  public static final double MAX_LOAD_FACTOR = 4;
+
+  /** The load factor below which the server is not considered under load */
+  private static final double LOAD_THRESHOLD = 1.1;
+
+  /** The smoothing factor of the moving average of tick durations */
+  private static final double TICK_SMOOTHING = 0.1;
+
+  /** The number of works prepared at once, while a tick budget is set */
+  private static final int PREPARATION_BATCH_SIZE =
+      Math.max(1, Runtime.getRuntime().availableProcessors());
+
+  private static final Map<Plugin, InventoryUpdateScheduler> schedulers =
+      new ConcurrentHashMap<>();
+
+  private final transient Object lock = new Object();
+
+  private final Plugin plugin;
+
+  /** The wheel of all scheduled updates, guarded by {@code lock} */
+  private final TimingWheel<ScheduledInventoryUpdate> wheel = new TimingWheel<>();
+
+  /** The phase load of all scheduled updates, guarded by {@code lock} */
+  private final PhaseBalancer phaseBalancer = new PhaseBalancer();
+
+  /** Tasks to run once in the next tick, guarded by {@code lock} */
+  private final Queue<Work> tasks = new ArrayDeque<>();
+
+  /** Tasks to run once in the next tick outside the tick budget, guarded by {@code lock} */
+  private final Queue<Runnable> auxiliaryTasks = new ArrayDeque<>();
+
+  /** Buffer of auxiliary tasks due in the current tick, only accessed by the main thread */
+  private final List<Runnable> dueAuxiliaryTasks = new ArrayList<>();
+
+  /** Buffer of updates due in the current tick, only accessed by the main thread */
+  private final List<ScheduledInventoryUpdate> dueUpdates = new ArrayList<>();
+
+  /** Work that is pending, including deferred work, only accessed by the main thread */
+  private final List<Work> backlog = new ArrayList<>();
+
+  private volatile long tickBudget = UNLIMITED_BUDGET;
+
+  private volatile Executor preparationExecutor = ForkJoinPool.commonPool();
+
+  /** The start of the last tick, zero if the task was not running in the last tick */
+  private long lastTickTime;
+
+  /** The exponentially weighted moving average of tick durations in nanoseconds */
+  private double averageTickNanos = TARGET_TICK_NANOS;
+
+  private volatile double loadFactor = 1;
+
+  /** The tick of the wheel as of the last run of the task, written while holding the lock */
+  private volatile long currentTick;
+
+  private @Nullable BukkitTask task;
+
+  private InventoryUpdateScheduler(Plugin plugin) {
+    Preconditions.checkNotNull(plugin, "Plugin must not be null");
+    this.plugin = plugin;
+  }
+
+  /** Returns the scheduler of {@code plugin}, allocating it if it does not exist yet */
+  public static InventoryUpdateScheduler of(Plugin plugin) {
+    Preconditions.checkNotNull(plugin, "Plugin must not be null");
+    @Nullable InventoryUpdateScheduler scheduler = schedulers.get(plugin);
+    if (scheduler != null) return scheduler;
+    return schedulers.computeIfAbsent(plugin, InventoryUpdateScheduler::new);
+  }
+
+  /**
+   * Discards the scheduler of {@code plugin}, cancelling its task and all of its updates.
+   *
+   * @param plugin the plugin to discard the scheduler of
+   * @return true if a scheduler was discarded
+   */
+  @CanIgnoreReturnValue
+  public static boolean discard(Plugin plugin) {
+    @Nullable InventoryUpdateScheduler scheduler = schedulers.remove(plugin);
+    if (scheduler == null) return false;
+    synchronized (scheduler.lock) {
+      scheduler.tasks.clear();
+      scheduler.auxiliaryTasks.clear();
+      scheduler.cancelTask();
+    }
+    return true;
+  }
+
+  /**
+   * Schedules the periodic update of {@code inventory}, which is first updated within one
+   * period, at the least loaded phase of its update interval.
+   *
+   * @param inventory the inventory to update periodically
+   * @return the scheduled update, used to cancel it
+   * @see CustomInventory#update()
+   */
+  public ScheduledInventoryUpdate schedule(CustomInventory inventory) {
+    Preconditions.checkNotNull(inventory, "Inventory must not be null");
+    synchronized (lock) {
+      long period = Math.max(inventory.getUpdateInterval().toTicks(), 1);
+      ScheduledInventoryUpdate update = new ScheduledInventoryUpdate(
+          this, inventory, wheel, period, phaseBalancer.acquire(period));
+      startTask();
+      return update;
+    }
+  }
+
+  /**
+   * Runs {@code task}, that renders {@code inventory}, once in the next tick of this scheduler.
+   * Tasks that do not render should be {@link #execute(Runnable) executed} instead.
+   * <p>The task might be deferred to a later tick, if it does not fit the tick budget.
+   *
+   * @param inventory the inventory the task renders, which determines the task's priority
+   * @param task      the task to run
+   */
+  public void submit(CustomInventory inventory, Runnable task) {
+    Preconditions.checkNotNull(inventory, "Inventory must not be null");
+    Preconditions.checkNotNull(task, "Task must not be null");
+    synchronized (lock) {
+      tasks.add(new Work(inventory, task, null));
+      startTask();
+    }
+  }
+
+  /**
+   * Runs {@code task}, that does not render an inventory, once in the next tick of this
+   * scheduler.
+   * <p>Unlike {@link #submit(CustomInventory, Runnable) submitted} renders, the task is run
+   * before any other work and is neither charged to nor deferred by the tick budget.
+   *
+   * @param task the task to run
+   * @since 2.1
+   */
+  public void execute(Runnable task) {
+    Preconditions.checkNotNull(task, "Task must not be null");
+    synchronized (lock) {
+      auxiliaryTasks.add(task);
+      startTask();
+    }
+  }
+
+  /**
+   * Updates the maximum time that is spent on running work within a single tick.
+   * <p>Work that exceeds the budget is deferred to the next tick. At least one work is run per
+   * tick, regardless of the budget, such that work is never starved.
+   *
+   * @param budget the budget, {@link #UNLIMITED_BUDGET} to not limit the time at all
+   * @param unit   the unit of {@code budget}
+   */
+  public void setTickBudget(long budget, TimeUnit unit) {
+    Preconditions.checkArgument(budget > 0, "Budget must be positive");
+    Preconditions.checkNotNull(unit, "Unit must not be null");
+    this.tickBudget = (budget == UNLIMITED_BUDGET ? UNLIMITED_BUDGET : unit.toNanos(budget));
+  }
+
+  /**
+   * Updates the executor, on which the item stacks of concurrent items are prepared.
+   *
+   * @param preparationExecutor the executor, the common fork-join pool by default
+   * @see CustomInventory#prepareRender()
+   */
+  public void setPreparationExecutor(Executor preparationExecutor) {
+    Preconditions.checkNotNull(preparationExecutor, "Executor must not be null");
+    this.preparationExecutor = preparationExecutor;
+  }
+
+  public Executor getPreparationExecutor() {
+    return preparationExecutor;
+  }
+
+  /** Returns the tick budget in {@code unit}, or {@link #UNLIMITED_BUDGET} if not limited */
+  public long getTickBudget(TimeUnit unit) {
+    long tickBudget = this.tickBudget;
+    return (tickBudget == UNLIMITED_BUDGET
+        ? UNLIMITED_BUDGET
+        : unit.convert(tickBudget, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Returns the current load factor of the server, which is the ratio of the average tick
+   * duration to the {@link #TARGET_TICK_NANOS target duration}.
+   * <p>A load factor of one represents no load, while for example a load factor of two
+   * represents a server running with half its target TPS.
+   *
+   * @return the load factor, within {@code [1, MAX_LOAD_FACTOR]}
+   * @see InventoryUpdatePriority#stretch(long, double)
+   */
+  public double getLoadFactor() {
+    return loadFactor;
+  }
+
+  /** Returns the number of ticks this scheduler has run */
+  public long getTick() {
+    return currentTick;
+  }
+
+  public Plugin getPlugin() {
+    return plugin;
+  }
+
+  void cancel(ScheduledInventoryUpdate update) {
+    synchronized (lock) {
+      if (update.cancelled) return;
+      update.cancelled = true;
+      wheel.cancel(update.node);
+      phaseBalancer.release(update.getPeriod(), update.getPhase());
+    }
+  }
+
+  void wake(ScheduledInventoryUpdate update) {
+    synchronized (lock) {
+      // updates that are currently not scheduled are rescheduled after being run
+      if (update.cancelled || !update.throttled || !update.node.isScheduled()) return;
+      wheel.reschedule(update.node, update.getDelay(wheel.getTick(), loadFactor));
+    }
+  }
+
+  private void tick() {
+    measureLoad(System.nanoTime());
+    long tick;
+    synchronized (lock) {
+      backlog.addAll(tasks);
+      tasks.clear();
+      dueAuxiliaryTasks.addAll(auxiliaryTasks);
+      auxiliaryTasks.clear();
+      wheel.advance(dueUpdates);
+      currentTick = tick = wheel.getTick();
+    }
+    for (Runnable task : dueAuxiliaryTasks)
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        plugin.getLogger().log(Level.SEVERE, "Exception in inventory task", e);
+      }
+    dueAuxiliaryTasks.clear();
+    // auxiliary tasks are not charged to the budget, thus the budget starts afterwards
+    long startTime = System.nanoTime();
+    for (ScheduledInventoryUpdate update : dueUpdates)
+      if (!update.isCancelled())
+        backlog.add(new Work(update.getInventory(), null, update));
+    dueUpdates.clear();
+    for (Work work : backlog)
+      work.prioritize(tick);
+    if (backlog.size() > 1)
+      backlog.sort(Work.ORDER);
+    long budget = tickBudget;
+    int index = 0, prepared = 0;
+    while (index < backlog.size()) {
+      if (index == prepared)
+        // the preparation of the next batch is charged to the budget, as it blocks
+        prepared = prepare(index, (budget == UNLIMITED_BUDGET
+            ? backlog.size() : index + PREPARATION_BATCH_SIZE));
+      run(backlog.get(index++));
+      if (budget != UNLIMITED_BUDGET && System.nanoTime() - startTime >= budget)
+        break;
+    }
+    // the remaining work is deferred to the next tick
+    backlog.subList(0, index).clear();
+    synchronized (lock) {
+      if (wheel.isEmpty() && tasks.isEmpty() && auxiliaryTasks.isEmpty() && backlog.isEmpty())
+        cancelTask();
+    }
+  }
+
+  /**
+   * Prepares the renders of the pending periodic updates in {@code [from, to)} of the backlog
+   * in parallel.
+   *
+   * @return the exclusive end of the prepared range
+   */
+  private int prepare(int from, int to) {
+    int end = Math.min(to, backlog.size());
+    List<Runnable> preparations = new ArrayList<>();
+    for (Work work : backlog.subList(from, end)) {
+      if (work.update == null || work.update.isCancelled()) continue;
+      @Nullable Runnable preparation = work.inventory.prepareRender();
+      if (preparation != null) preparations.add(preparation);
+    }
+    if (preparations.isEmpty()) return end;
+    try {
+      if (preparations.size() == 1) {
+        preparations.get(0).run();
+        return end;
+      }
+      Executor executor = preparationExecutor;
+      CompletableFuture.allOf(preparations.stream()
+          .map((preparation) -> CompletableFuture.runAsync(preparation, executor))
+          .toArray(CompletableFuture[]::new)).join();
+    } catch (RuntimeException e) {
+      // failed preparations are computed on the main thread while rendering
+      plugin.getLogger().log(Level.WARNING, "Exception while preparing renders", e);
+    }
+    return end;
+  }
+
+  private void run(Work work) {
+    @Nullable ScheduledInventoryUpdate update = work.update;
+    if (update != null && update.isCancelled()) return;
+    try {
+      if (update != null)
+        update.getInventory().update();
+      else if (work.task != null)
+        work.task.run();
+    } catch (RuntimeException e) {
+      plugin.getLogger().log(Level.SEVERE, "Exception in inventory update", e);
+    }
+    if (update == null) return;
+    synchronized (lock) {
+      // the update might have been cancelled while updating
+      if (!update.isCancelled())
+        wheel.reschedule(update.node, update.getDelay(wheel.getTick(), loadFactor));
+    }
+  }
+
+  private void measureLoad(long tickTime) {
+    if (lastTickTime != 0) {
+      long tickNanos = tickTime - lastTickTime;
+      averageTickNanos += TICK_SMOOTHING * (tickNanos - averageTickNanos);
+      double load = averageTickNanos / TARGET_TICK_NANOS;
+      loadFactor = (load < LOAD_THRESHOLD ? 1 : Math.min(load, MAX_LOAD_FACTOR));
+    }
+    lastTickTime = tickTime;
+  }
+
+  /** Starts the task of this scheduler if not running, must be called while holding the lock */
+  private void startTask() {
+    if (task != null && !task.isCancelled()) return;
+    // ticks are only measured between consecutive runs of the task
+    lastTickTime = 0;
+    task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+  }
+
+  /** Cancels the task of this scheduler if running, must be called while holding the lock */
+  private void cancelTask() {
+    if (task != null)
+      task.cancel();
+    task = null;
+  }
+
+  /** Work pending to be run, which is either a submitted task or a periodic update */
+  private static final class Work {
+
+    static final Comparator<Work> ORDER = Comparator
+        .comparingInt((Work work) -> work.rank)
+        // flushes of invalidations precede periodic (background) refreshes
+        .thenComparingInt((Work work) -> (work.update != null ? 1 : 0))
+        .thenComparingInt((Work work) -> work.priority)
+        .thenComparing(Comparator.comparingInt((Work work) -> work.viewers).reversed())
+        .thenComparingLong((work) -> work.createTick);
+
+    final CustomInventory inventory;
+    final @Nullable Runnable task;
+    final @Nullable ScheduledInventoryUpdate update;
+
+    /** The tick this work was first pending at, -1 if not yet known */
+    long createTick = -1;
+
+    /** Rank of this work, lower ranks are run first */
+    int rank;
+
+    /** The ordinal of the inventory's update priority, lower ordinals are run first */
+    int priority;
+
+    int viewers;
+
+    Work(CustomInventory inventory, @Nullable Runnable task,
+         @Nullable ScheduledInventoryUpdate update) {
+      this.inventory = inventory;
+      this.task = task;
+      this.update = update;
+    }
+
+    void prioritize(long tick) {
+      if (createTick == -1)
+        createTick = tick;
+      if (tick - createTick >= MAX_DEFERRAL_TICKS)
+        rank = 0; // prevent starvation of deferred work
+      else if (inventory.getTicksSinceInteraction() <= RECENT_INTERACTION_TICKS)
+        rank = 1;
+      else
+        rank = 2;
+      priority = inventory.getUpdatePriority().ordinal();
+      viewers = inventory.getViewers().size();
+    }
+
+  }
+
+}
@@ -0,0 +1,165 @@
+package com.github.aparx.bgui.core.scheduler;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns phase offsets to periodic work, such that work of the same period is spread evenly
+ * across that period.
+ * <p>A phase is the remainder of the ticks a periodic work is due at, divided by its period.
+ * Each acquisition returns the phase with the least load. If multiple phases share the least
+ * load, the one farthest from the already occupied phases is preferred, such that for example
+ * five works with a period of 20 ticks are due every fourth tick, rather than on five
+ * consecutive ticks.
+ * <p>Acquiring and releasing a phase takes constant time: the phases of each period are indexed
+ * by their load, such that the least loaded phases are known without scanning all phases, while
+ * the preferred one among them is found through a bit set scan of at most
+ * {@code MAX_PHASES / 64} words.
+ * <p>This class is not thread-safe.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 16:48
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class PhaseBalancer {
+
+  /** The maximum number of distinct phases tracked for a single period */
+  public static final int MAX_PHASES = 1024;
+
+  private final Map<Long, PhaseRing> rings = new HashMap<>();
+
+  /**
+   * Acquires the least loaded phase for {@code period} and increments its load.
+   *
+   * @param period the period in ticks, which must be positive
+   * @return the phase, within {@code [0, period)}
+   */
+  public long acquire(long period) {
+    Preconditions.checkArgument(period > 0, "Period must be positive");
+    PhaseRing ring = rings.computeIfAbsent(period, PhaseRing::new);
+    return ring.acquire();
+  }
+
+  /**
+   * Releases {@code phase} of {@code period}, previously acquired through
+   * {@link #acquire(long)}, and decrements its load.
+   *
+   * @param period the period in ticks
+   * @param phase  the phase to release
+   */
+  public void release(long period, long phase) {
+    @Nullable PhaseRing ring = rings.get(period);
+    if (ring != null && ring.release(phase) == 0)
+      rings.remove(period);
+  }
+
+  /** Returns the number of works currently assigned to {@code phase} of {@code period} */
+  public int getLoad(long period, long phase) {
+    @Nullable PhaseRing ring = rings.get(period);
+    return (ring != null ? ring.loads[ring.slotOf(phase)] : 0);
+  }
+
+  private static final class PhaseRing {
+
+    final long period;
+
+    /** The load of each slot, where each slot represents one or more phases */
+    final int[] loads;
+
+    /** The order in which slots are preferred, if multiple slots share the least load */
+    final int[] order;
+
+    /** The rank of each slot within {@code order}, lower ranks are preferred */
+    final int[] ranks;
+
+    /** The ranks of all slots of each load, indexed by load */
+    final List<BitSet> ranksByLoad = new ArrayList<>();
+
+    /** The least load of any slot */
+    int minLoad;
+
+    int total;
+
+    PhaseRing(long period) {
+      this.period = period;
+      int slots = (int) Math.min(period, MAX_PHASES);
+      this.loads = new int[slots];
+      this.order = createOrder(slots);
+      this.ranks = new int[slots];
+      for (int rank = 0; rank < slots; ++rank)
+        ranks[order[rank]] = rank;
+      BitSet unloaded = new BitSet(slots);
+      unloaded.set(0, slots);
+      ranksByLoad.add(unloaded);
+    }
+
+    /**
+     * Returns the slots of {@code length} in the order of the van der Corput sequence scaled to
+     * {@code length}, e.g. 0, 10, 5, 15, 2, 12, 7, 17, ... for a length of 20.
+     */
+    static int[] createOrder(int length) {
+      int total = Integer.highestOneBit(length);
+      if (total < length) total <<= 1;
+      int bits = Integer.numberOfTrailingZeros(total);
+      int[] order = new int[length];
+      boolean[] ordered = new boolean[length];
+      for (int i = 0, n = 0; n < length; ++i) {
+        long reversed = (bits == 0 ? 0 : Integer.reverse(i) >>> (Integer.SIZE - bits));
+        int slot = (int) ((reversed * length) / total);
+        if (ordered[slot]) continue;
+        ordered[slot] = true;
+        order[n++] = slot;
+      }
+      return order;
+    }
+
+    long acquire() {
+      BitSet leastLoaded = ranksByLoad.get(minLoad);
+      int best = order[leastLoaded.nextSetBit(0)];
+      move(best, loads[best] + 1);
+      ++total;
+      // the acquired slot now has the next load, thus that load is never empty
+      if (leastLoaded.isEmpty()) ++minLoad;
+      return phaseOf(best);
+    }
+
+    int release(long phase) {
+      int slot = slotOf(phase);
+      if (loads[slot] > 0) {
+        move(slot, loads[slot] - 1);
+        minLoad = Math.min(minLoad, loads[slot]);
+        --total;
+      }
+      return total;
+    }
+
+    /** Moves {@code slot} from its current load to {@code load} */
+    void move(int slot, int load) {
+      ranksByLoad.get(loads[slot]).clear(ranks[slot]);
+      if (load == ranksByLoad.size())
+        ranksByLoad.add(new BitSet(loads.length));
+      ranksByLoad.get(load).set(ranks[slot]);
+      loads[slot] = load;
+    }
+
+    long phaseOf(int slot) {
+      // rounded up, such that the phase maps back to the same slot
+      return (slot * period + loads.length - 1) / loads.length;
+    }
+
+    int slotOf(long phase) {
+      return (int) ((Math.floorMod(phase, period) * loads.length) / period);
+    }
+
+  }
+
+}
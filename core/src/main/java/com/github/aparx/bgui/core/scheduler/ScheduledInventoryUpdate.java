@@ -0,0 +1,126 @@
+package com.github.aparx.bgui.core.scheduler;
+
+import com.github.aparx.bgui.core.CustomInventory;
+import com.github.aparx.bgui.core.InventoryUpdatePriority;
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * The periodic update of a {@code CustomInventory}, scheduled by an
+ * {@link InventoryUpdateScheduler}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 14:40
+ * @see InventoryUpdateScheduler#schedule(CustomInventory)
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class ScheduledInventoryUpdate {
+
+  private final InventoryUpdateScheduler scheduler;
+
+  private final CustomInventory inventory;
+
+  /** The node within the scheduler's wheel, guarded by the scheduler */
+  final TimingWheel.Node<ScheduledInventoryUpdate> node;
+
+  private final long period;
+
+  private final long phase;
+
+  /** True if this update is cancelled, written by the scheduler only */
+  volatile boolean cancelled;
+
+  /** True if this update is throttled due to idle viewers, guarded by the scheduler */
+  boolean throttled;
+
+  ScheduledInventoryUpdate(InventoryUpdateScheduler scheduler, CustomInventory inventory,
+                           TimingWheel<ScheduledInventoryUpdate> wheel, long period, long phase) {
+    Preconditions.checkNotNull(scheduler, "Scheduler must not be null");
+    Preconditions.checkNotNull(inventory, "Inventory must not be null");
+    Preconditions.checkArgument(period > 0, "Period must be positive");
+    this.scheduler = scheduler;
+    this.inventory = inventory;
+    this.period = period;
+    this.phase = phase;
+    this.node = wheel.schedule(this, getDelay(wheel.getTick()));
+  }
+
+  /**
+   * Returns the number of ticks from {@code tick} to the next tick this update is due at, which
+   * is the next tick within the phase of this update.
+   *
+   * @param tick the current tick
+   * @return the delay in ticks, within {@code [1, period]}
+   */
+  long getDelay(long tick) {
+    long delay = Math.floorMod(phase - tick, period);
+    return (delay != 0 ? delay : period);
+  }
+
+  /**
+   * Returns the number of ticks from {@code tick} to the next tick this update is due at, with
+   * the period stretched by {@code loadFactor} according to the inventory's update priority, or
+   * to the inventory's idle interval, if the inventory is idle.
+   * <p>The update stays within its phase, such that stretched updates remain staggered.
+   *
+   * @param tick       the current tick
+   * @param loadFactor the current load factor of the server
+   * @return the delay in ticks, which is at least one
+   * @see InventoryUpdatePriority#stretch(long, double)
+   * @see CustomInventory#isIdle()
+   */
+  long getDelay(long tick, double loadFactor) {
+    long effectivePeriod = inventory.getUpdatePriority().stretch(period, loadFactor);
+    throttled = inventory.isIdle();
+    if (throttled)
+      effectivePeriod = Math.max(effectivePeriod, inventory.getIdleInterval().toTicks());
+    long stretch = effectivePeriod - period;
+    return (stretch > 0 ? stretch + getDelay(tick + stretch) : getDelay(tick));
+  }
+
+  /** Cancels this update, such that the inventory is no longer updated by the scheduler */
+  public void cancel() {
+    scheduler.cancel(this);
+  }
+
+  /**
+   * Reschedules this update to its regular update interval, if it is currently throttled due to
+   * idle viewers.
+   *
+   * @see CustomInventory#setIdleThrottle(com.github.aparx.bommons.ticks.TickDuration,
+   * com.github.aparx.bommons.ticks.TickDuration)
+   */
+  public void wake() {
+    scheduler.wake(this);
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /** Returns the number of ticks between two updates of the inventory, which is at least one */
+  public long getPeriod() {
+    return period;
+  }
+
+  /**
+   * Returns the phase of this update, which is the remainder of every tick this update is due
+   * at, divided by its period.
+   *
+   * @see PhaseBalancer
+   */
+  public long getPhase() {
+    return phase;
+  }
+
+  public InventoryUpdateScheduler getScheduler() {
+    return scheduler;
+  }
+
+  public CustomInventory getInventory() {
+    return inventory;
+  }
+
+}
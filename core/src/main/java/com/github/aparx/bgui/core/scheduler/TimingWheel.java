@@ -0,0 +1,196 @@
+package com.github.aparx.bgui.core.scheduler;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Collection;
+
+/**
+ * A hashed timing wheel, that maps values to the tick at which they are due.
+ * <p>The wheel consists of a fixed number of buckets, each being an intrusive doubly linked
+ * list of nodes. A node due at tick {@code t} is stored in bucket {@code t mod size}, thus
+ * scheduling and cancelling a node is done in constant time. Advancing the wheel by one tick
+ * only visits the nodes of a single bucket, regardless of how many nodes are scheduled.
+ * <p>This class is not thread-safe.
+ *
+ * @param <T> the type of values scheduled
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 14:12
+ * @since 2.1
+ */
+@DefaultQualifier(NonNull.class)
+public final class TimingWheel<T> {
+
+  public static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private final @Nullable Node<?>[] buckets;
+
+  private final int mask;
+
+  private long tick;
+
+  private int size;
+
+  public TimingWheel() {
+    this(DEFAULT_WHEEL_SIZE);
+  }
+
+  /**
+   * Allocates a new timing wheel with at least {@code wheelSize} buckets.
+   *
+   * @param wheelSize the minimum amount of buckets, rounded up to the next power of two
+   */
+  public TimingWheel(int wheelSize) {
+    Preconditions.checkArgument(wheelSize > 0, "Wheel size must be positive");
+    Preconditions.checkArgument(wheelSize <= 1 << 30, "Wheel size is too large");
+    int capacity = Integer.highestOneBit(wheelSize);
+    if (capacity < wheelSize) capacity <<= 1;
+    this.buckets = new Node<?>[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Schedules {@code value} to be due {@code delay} ticks after the current tick.
+   *
+   * @param value the value to schedule
+   * @param delay the delay in ticks, values below one are treated as one
+   * @return the node, that represents the scheduled value
+   */
+  @CanIgnoreReturnValue
+  public Node<T> schedule(T value, long delay) {
+    Node<T> node = new Node<>(value);
+    reschedule(node, delay);
+    return node;
+  }
+
+  /**
+   * Schedules {@code node} to be due {@code delay} ticks after the current tick, cancelling its
+   * previous schedule, if still scheduled.
+   *
+   * @param node  the node to (re-)schedule, that must have been created by this wheel
+   * @param delay the delay in ticks, values below one are treated as one
+   */
+  public void reschedule(Node<T> node, long delay) {
+    Preconditions.checkNotNull(node, "Node must not be null");
+    Preconditions.checkArgument(node.wheel == null || node.wheel == this, "Foreign node");
+    cancel(node);
+    node.deadline = tick + Math.max(delay, 1);
+    link(node);
+  }
+
+  /**
+   * Cancels {@code node}, such that it is not due anymore.
+   *
+   * @param node the node to cancel
+   * @return true if {@code node} was scheduled, false otherwise
+   */
+  @CanIgnoreReturnValue
+  public boolean cancel(Node<T> node) {
+    Preconditions.checkNotNull(node, "Node must not be null");
+    if (node.wheel != this) return false;
+    unlink(node);
+    return true;
+  }
+
+  /**
+   * Advances this wheel by a single tick and moves every value due at the new tick into
+   * {@code target}. The nodes of those values are no longer scheduled afterwards.
+   *
+   * @param target the collection to add all due values to
+   * @return the number of values that are due
+   */
+  @CanIgnoreReturnValue
+  public int advance(Collection<? super T> target) {
+    Preconditions.checkNotNull(target, "Target must not be null");
+    int bucket = (int) (++tick & mask), expired = 0;
+    @SuppressWarnings("unchecked")
+    @Nullable Node<T> node = (Node<T>) buckets[bucket];
+    while (node != null) {
+      @Nullable Node<T> next = node.next;
+      if (node.deadline <= tick) {
+        unlink(node);
+        target.add(node.value);
+        ++expired;
+      }
+      node = next;
+    }
+    return expired;
+  }
+
+  /** Returns the tick this wheel is currently at, which is the number of advancements */
+  public long getTick() {
+    return tick;
+  }
+
+  /** Returns the number of nodes that are currently scheduled */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private void link(Node<T> node) {
+    int bucket = (int) (node.deadline & mask);
+    @SuppressWarnings("unchecked")
+    @Nullable Node<T> head = (Node<T>) buckets[bucket];
+    node.next = head;
+    node.prev = null;
+    if (head != null) head.prev = node;
+    buckets[bucket] = node;
+    node.wheel = this;
+    ++size;
+  }
+
+  private void unlink(Node<T> node) {
+    if (node.prev != null)
+      node.prev.next = node.next;
+    else
+      buckets[(int) (node.deadline & mask)] = node.next;
+    if (node.next != null)
+      node.next.prev = node.prev;
+    node.next = node.prev = null;
+    node.wheel = null;
+    --size;
+  }
+
+  /**
+   * A value scheduled within a timing wheel.
+   *
+   * @param <T> the type of value
+   */
+  public static final class Node<T> {
+
+    private final T value;
+
+    private @Nullable TimingWheel<T> wheel;
+
+    private @Nullable Node<T> prev, next;
+
+    private long deadline;
+
+    private Node(T value) {
+      Preconditions.checkNotNull(value, "Value must not be null");
+      this.value = value;
+    }
+
+    public T getValue() {
+      return value;
+    }
+
+    /** Returns the tick at which this node is (or was last) due */
+    public long getDeadline() {
+      return deadline;
+    }
+
+    public boolean isScheduled() {
+      return wheel != null;
+    }
+
+  }
+
+}
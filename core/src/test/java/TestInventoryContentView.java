@@ -0,0 +1,196 @@
+import com.github.aparx.bgui.core.content.InventoryContentFactory;
+import com.github.aparx.bgui.core.content.InventoryContentListener;
+import com.github.aparx.bgui.core.content.InventoryContentView;
+import com.github.aparx.bgui.core.content.InventoryLayerGroup;
+import com.github.aparx.bgui.core.content.InventoryStorageLayer;
+import com.github.aparx.bgui.core.content.pagination.InventoryPageGroup;
+import com.github.aparx.bgui.core.content.pagination.PaginationItemHandler;
+import com.github.aparx.bgui.core.content.pagination.PaginationItemType;
+import com.github.aparx.bgui.core.dimension.InventoryDimensions;
+import com.github.aparx.bgui.core.dimension.InventoryPosition;
+import com.github.aparx.bgui.core.dimension.InventorySection;
+import com.github.aparx.bgui.core.item.InventoryItem;
+import com.github.aparx.bgui.core.item.InventoryItemAccessor;
+import com.github.aparx.bgui.core.render.InventorySlotTable;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-06 16:40
+ * @since 2.1
+ */
+public class TestInventoryContentView {
+
+  private static InventoryItem item() {
+    return new InventoryItem() {
+      @Override
+      public ItemStack get(InventoryItemAccessor accessor) {
+        return null;
+      }
+
+      @Override
+      public void handleClick(InventoryItem item, InventoryClickEvent event) {}
+    };
+  }
+
+  private static void assertRenderEqualsGet(InventoryContentView view) {
+    InventoryDimensions dimensions = view.getDimensions();
+    int width = dimensions.getWidth();
+    InventoryItem[] buffer = new InventoryItem[dimensions.size()];
+    view.renderInto(null, buffer, width);
+    for (int slot = 0; slot < buffer.length; ++slot)
+      Assert.assertSame(view.get(null, InventoryPosition.ofIndex(slot, width)), buffer[slot]);
+  }
+
+  @Test
+  public void testRenderIntoStorageLayer() {
+    InventoryStorageLayer layer = InventoryContentFactory.storageLayer(
+        InventoryDimensions.ofHeight(3));
+    layer.set(0, item());
+    layer.set(4, item());
+    layer.set(26, item());
+    assertRenderEqualsGet(layer);
+  }
+
+  @Test
+  public void testRenderIntoLayerGroup() {
+    InventoryLayerGroup group = InventoryContentFactory.layerGroup(
+        InventoryDimensions.ofHeight(4));
+    InventoryStorageLayer bottom = InventoryContentFactory.storageLayer(group);
+    bottom.fill(item());
+    InventoryStorageLayer top = InventoryContentFactory.storageLayer(
+        InventorySection.of(1, 1, 3, 2), group);
+    top.set(0, item());
+    top.set(5, item());
+    top.fillRight(item());
+    group.addLayer(bottom);
+    group.addLayer(top);
+    assertRenderEqualsGet(group);
+  }
+
+  @Test
+  public void testRenderIntoClipsLayerExceedingGroup() {
+    InventoryLayerGroup group = InventoryContentFactory.layerGroup(
+        InventoryDimensions.ofHeight(4));
+    InventoryLayerGroup nested = InventoryContentFactory.layerGroup(
+        InventorySection.of(1, 1, 3, 2), group);
+    // addLayers does not check the area of its layers, thus the layer exceeds the nested group
+    InventoryStorageLayer exceeding = InventoryContentFactory.storageLayer(
+        InventoryDimensions.ofHeight(4));
+    exceeding.fill(item());
+    nested.addLayers(exceeding);
+    group.addLayer(nested);
+    assertRenderEqualsGet(group);
+  }
+
+  @Test
+  public void testRenderIntoSharedPaginationPosition() {
+    InventoryPageGroup group = InventoryContentFactory.pageGroup(
+        InventoryDimensions.ofHeight(3));
+    for (int i = 0; i < 2; ++i) {
+      InventoryStorageLayer page = InventoryContentFactory.storageLayer(group);
+      page.fill(item());
+      group.addPage(page);
+    }
+    PaginationItemHandler handler = group.getItemHandler();
+    // both types share a position, while the first type has no previous page to skip to
+    handler.set(PaginationItemType.PREVIOUS_PAGE,
+        handler.get(PaginationItemType.NEXT_PAGE).getAbsolutePosition(), item());
+    handler.setPlaceholder(null);
+    assertRenderEqualsGet(group);
+  }
+
+  @Test
+  public void testRevisionPropagation() {
+    InventoryLayerGroup group = InventoryContentFactory.layerGroup(
+        InventoryDimensions.ofHeight(3));
+    InventoryStorageLayer layer = InventoryContentFactory.storageLayer(group);
+    group.addLayer(layer);
+    long revision = group.getRevision();
+    Assert.assertEquals(revision, group.getRevision());
+    layer.set(3, item());
+    Assert.assertTrue(group.getRevision() > revision);
+  }
+
+  @Test
+  public void testBatchDefersModification() {
+    InventoryLayerGroup group = InventoryContentFactory.layerGroup(
+        InventoryDimensions.ofHeight(3));
+    InventoryStorageLayer layer = InventoryContentFactory.storageLayer(group);
+    group.addLayer(layer);
+    long revision = group.getRevision();
+    group.batch((batchGroup) -> {
+      layer.set(1, item());
+      layer.set(2, item());
+      Assert.assertTrue(layer.isBatching());
+      Assert.assertEquals(revision, group.getRevision());
+    });
+    Assert.assertFalse(layer.isBatching());
+    Assert.assertTrue(group.getRevision() > revision);
+  }
+
+  @Test
+  public void testBatchSpansNestedGroups() {
+    InventoryLayerGroup group = InventoryContentFactory.layerGroup(
+        InventoryDimensions.ofHeight(3));
+    InventoryLayerGroup nested = InventoryContentFactory.layerGroup(group);
+    InventoryStorageLayer layer = InventoryContentFactory.storageLayer(nested);
+    nested.addLayer(layer);
+    group.addLayer(nested);
+    int[] notifications = new int[1];
+    InventoryContentListener listener = (view) -> ++notifications[0];
+    layer.addChangeListener(listener);
+    long revision = group.getRevision();
+    group.batch((batchGroup) -> {
+      layer.set(1, item());
+      layer.set(2, item());
+      Assert.assertTrue(layer.isBatching());
+      Assert.assertEquals(revision, group.getRevision());
+    });
+    Assert.assertFalse(layer.isBatching());
+    Assert.assertEquals(1, notifications[0]);
+    Assert.assertTrue(group.getRevision() > revision);
+  }
+
+  @Test
+  public void testChangeListenerNotifiedOnCommit() {
+    InventoryStorageLayer layer = InventoryContentFactory.storageLayer(
+        InventoryDimensions.ofHeight(2));
+    int[] notifications = new int[1];
+    InventoryContentListener listener = (view) -> ++notifications[0];
+    layer.addChangeListener(listener);
+    layer.set(1, item());
+    Assert.assertEquals(1, notifications[0]);
+    layer.batch((batchLayer) -> {
+      batchLayer.set(2, item());
+      batchLayer.set(3, item());
+    });
+    Assert.assertEquals(2, notifications[0]);
+  }
+
+  @Test
+  public void testSlotTableRevalidation() {
+    InventoryStorageLayer layer = InventoryContentFactory.storageLayer(
+        InventoryDimensions.ofHeight(2));
+    InventoryItem item = item();
+    layer.set(10, item);
+    InventorySlotTable table = new InventorySlotTable();
+    Assert.assertTrue(table.revalidate(layer, null));
+    Assert.assertFalse(table.revalidate(layer, null));
+    Assert.assertSame(item, table.get(10));
+    table.clearChanges();
+    layer.remove(10);
+    Assert.assertTrue(table.revalidate(layer, null));
+    Assert.assertNull(table.get(10));
+    BitSet changes = new BitSet();
+    table.drainChanges(changes);
+    Assert.assertEquals(1, changes.cardinality());
+    Assert.assertTrue(changes.get(10));
+  }
+
+}
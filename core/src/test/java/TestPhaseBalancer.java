@@ -0,0 +1,69 @@
+import com.github.aparx.bgui.core.scheduler.PhaseBalancer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 17:20
+ * @since 2.1
+ */
+public class TestPhaseBalancer {
+
+  @Test
+  public void testSpread() {
+    PhaseBalancer balancer = new PhaseBalancer();
+    List<Long> phases = new ArrayList<>();
+    for (int i = 0; i < 4; ++i)
+      phases.add(balancer.acquire(20));
+    phases.sort(Long::compare);
+    Assert.assertEquals(List.of(0L, 5L, 10L, 15L), phases);
+  }
+
+  @Test
+  public void testLeastLoaded() {
+    PhaseBalancer balancer = new PhaseBalancer();
+    for (int i = 0; i < 6; ++i)
+      balancer.acquire(3);
+    for (long phase = 0; phase < 3; ++phase)
+      Assert.assertEquals(2, balancer.getLoad(3, phase));
+    balancer.release(3, 1);
+    Assert.assertEquals(1, balancer.acquire(3));
+    // periods are balanced independently of each other
+    Assert.assertEquals(0, balancer.acquire(7));
+  }
+
+  @Test
+  public void testLargePeriod() {
+    PhaseBalancer balancer = new PhaseBalancer();
+    long period = 3000;
+    for (int i = 0; i < PhaseBalancer.MAX_PHASES; ++i) {
+      long phase = balancer.acquire(period);
+      Assert.assertTrue(phase >= 0 && phase < period);
+      Assert.assertEquals(1, balancer.getLoad(period, phase));
+    }
+  }
+
+  @Test
+  public void testAcquiresLeastLoadedAfterReleases() {
+    PhaseBalancer balancer = new PhaseBalancer();
+    Random random = new Random(42);
+    long period = 12;
+    List<Long> acquired = new ArrayList<>();
+    for (int i = 0; i < 1000; ++i) {
+      if (!acquired.isEmpty() && random.nextInt(3) == 0) {
+        balancer.release(period, acquired.remove(random.nextInt(acquired.size())));
+        continue;
+      }
+      long phase = balancer.acquire(period);
+      acquired.add(phase);
+      int load = balancer.getLoad(period, phase) - 1;
+      for (long other = 0; other < period; ++other)
+        Assert.assertTrue(balancer.getLoad(period, other) >= load);
+    }
+  }
+
+}
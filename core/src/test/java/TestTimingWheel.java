@@ -0,0 +1,61 @@
+import com.github.aparx.bgui.core.scheduler.TimingWheel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 15:02
+ * @since 2.1
+ */
+public class TestTimingWheel {
+
+  private static List<String> advance(TimingWheel<String> wheel, int ticks) {
+    List<String> due = new ArrayList<>();
+    for (int i = 0; i < ticks; ++i)
+      wheel.advance(due);
+    return due;
+  }
+
+  @Test
+  public void testSchedule() {
+    TimingWheel<String> wheel = new TimingWheel<>(4);
+    wheel.schedule("a", 1);
+    wheel.schedule("b", 3);
+    wheel.schedule("c", 0);
+    Assert.assertEquals(3, wheel.size());
+    Assert.assertEquals(List.of("c", "a"), advance(wheel, 1));
+    Assert.assertEquals(List.of(), advance(wheel, 1));
+    Assert.assertEquals(List.of("b"), advance(wheel, 1));
+    Assert.assertTrue(wheel.isEmpty());
+  }
+
+  @Test
+  public void testScheduleBeyondWheelSize() {
+    TimingWheel<String> wheel = new TimingWheel<>(4);
+    TimingWheel.Node<String> node = wheel.schedule("a", 10);
+    Assert.assertEquals(List.of(), advance(wheel, 9));
+    Assert.assertTrue(node.isScheduled());
+    Assert.assertEquals(List.of("a"), advance(wheel, 1));
+    Assert.assertFalse(node.isScheduled());
+    Assert.assertEquals(10, wheel.getTick());
+  }
+
+  @Test
+  public void testCancelAndReschedule() {
+    TimingWheel<String> wheel = new TimingWheel<>(8);
+    TimingWheel.Node<String> a = wheel.schedule("a", 2);
+    TimingWheel.Node<String> b = wheel.schedule("b", 2);
+    Assert.assertTrue(wheel.cancel(a));
+    Assert.assertFalse(wheel.cancel(a));
+    Assert.assertEquals(List.of("b"), advance(wheel, 2));
+    wheel.reschedule(b, 5);
+    wheel.reschedule(b, 3);
+    Assert.assertEquals(1, wheel.size());
+    Assert.assertEquals(List.of("b"), advance(wheel, 5));
+    Assert.assertTrue(wheel.isEmpty());
+  }
+
+}
@@ -0,0 +1,88 @@
+package com.github.aparx.bgui.core;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.Plugin;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-15 10:12
+ * @since 2.1
+ */
+public class TestInventoryPool {
+
+  private static final Plugin plugin = proxy(Plugin.class, null, 0);
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, List<HumanEntity> viewers, int size) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getSize": return size;
+            case "getViewers": return viewers;
+            case "hashCode": return System.identityHashCode(proxy);
+            case "equals": return proxy == args[0];
+            default: return null;
+          }
+        });
+  }
+
+  private static CustomInventoryHolder holder(int size) {
+    CustomInventoryHolder holder = new CustomInventoryHolder(new CustomInventory(plugin));
+    holder.setInventory(proxy(Inventory.class, new ArrayList<>(), size));
+    return holder;
+  }
+
+  @Test
+  public void testKeyedBySizeAndTitle() {
+    InventoryPool pool = new InventoryPool();
+    CustomInventoryHolder holder = holder(27);
+    Assert.assertTrue(pool.release(holder, null, "Shop"));
+    Assert.assertNull(pool.acquire(27, null));
+    Assert.assertNull(pool.acquire(54, "Shop"));
+    InventoryPool.Entry entry = pool.acquire(27, "Shop");
+    Assert.assertNotNull(entry);
+    Assert.assertSame(holder, entry.holder);
+    Assert.assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testCapacityPerKey() {
+    InventoryPool pool = new InventoryPool(2);
+    Assert.assertTrue(pool.release(holder(9), null, "Shop"));
+    Assert.assertTrue(pool.release(holder(9), null, "Shop"));
+    Assert.assertFalse(pool.release(holder(9), null, "Shop"));
+    Assert.assertTrue(pool.release(holder(9), null, "Bank"));
+    Assert.assertEquals(3, pool.size());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    InventoryPool pool = new InventoryPool(4, 2);
+    pool.release(holder(9), null, "A");
+    pool.release(holder(9), null, "B");
+    pool.release(holder(9), null, "C");
+    Assert.assertEquals(2, pool.size());
+    Assert.assertNull(pool.acquire(9, "A"));
+    Assert.assertNotNull(pool.acquire(9, "B"));
+    Assert.assertNotNull(pool.acquire(9, "C"));
+  }
+
+  @Test
+  public void testViewedInventoryIsNotPooled() {
+    InventoryPool pool = new InventoryPool();
+    List<HumanEntity> viewers = new ArrayList<>();
+    viewers.add(proxy(HumanEntity.class, null, 0));
+    CustomInventoryHolder holder = new CustomInventoryHolder(new CustomInventory(plugin));
+    holder.setInventory(proxy(Inventory.class, viewers, 9));
+    Assert.assertFalse(pool.release(holder, null, null));
+    Assert.assertEquals(0, pool.size());
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.github.aparx.bgui.core;
+
+import com.github.aparx.bgui.core.item.InventoryItem;
+import com.github.aparx.bgui.core.item.InventoryItemAccessor;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-15 12:20
+ * @since 2.1
+ */
+public class TestRefreshDeadline {
+
+  private static InventoryItem item(long refreshPeriod) {
+    return new InventoryItem() {
+      @Override
+      public ItemStack get(InventoryItemAccessor accessor) {
+        return null;
+      }
+
+      @Override
+      public void handleClick(InventoryItem item, InventoryClickEvent event) {}
+
+      @Override
+      public long getRefreshPeriod() {
+        return refreshPeriod;
+      }
+    };
+  }
+
+  @Test
+  public void testInheritIsDueEveryUpdate() {
+    Assert.assertEquals(100, CustomInventory.getRefreshDeadline(
+        item(InventoryItem.REFRESH_INHERIT), 100));
+  }
+
+  @Test
+  public void testPeriodIsAddedToTick() {
+    Assert.assertEquals(120, CustomInventory.getRefreshDeadline(item(20), 100));
+  }
+
+  @Test
+  public void testNeverIsNeverDue() {
+    Assert.assertEquals(InventoryItem.REFRESH_NEVER, CustomInventory.getRefreshDeadline(
+        item(InventoryItem.REFRESH_NEVER), 100));
+    Assert.assertEquals(InventoryItem.REFRESH_NEVER, CustomInventory.getRefreshDeadline(
+        null, 100));
+  }
+
+  @Test
+  public void testLongPeriodDoesNotOverflow() {
+    Assert.assertEquals(InventoryItem.REFRESH_NEVER, CustomInventory.getRefreshDeadline(
+        item(Long.MAX_VALUE - 1), 100));
+  }
+
+}
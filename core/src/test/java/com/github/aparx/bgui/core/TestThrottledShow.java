@@ -0,0 +1,113 @@
+package com.github.aparx.bgui.core;
+
+import com.github.aparx.bgui.core.content.InventoryContentFactory;
+import com.github.aparx.bgui.core.dimension.InventoryDimensions;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.Plugin;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-15 11:48
+ * @since 2.1
+ */
+public class TestThrottledShow {
+
+  private final Queue<Runnable> nextTicks = new ArrayDeque<>();
+
+  private final AtomicInteger opened = new AtomicInteger();
+
+  private CustomInventory inventory;
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, boolean online, AtomicInteger opened) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getSize": return 9;
+            case "getViewers": return Collections.emptyList();
+            case "isOnline": return online;
+            case "openInventory":
+              opened.incrementAndGet();
+              return null; // the opening is cancelled, which suffices to count the openings
+            case "hashCode": return System.identityHashCode(proxy);
+            case "equals": return proxy == args[0];
+            default: return null;
+          }
+        });
+  }
+
+  private List<Player> players(int count, boolean online) {
+    List<Player> players = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i)
+      players.add(proxy(Player.class, online, opened));
+    return players;
+  }
+
+  private void tick() {
+    Runnable task = nextTicks.poll();
+    Assert.assertNotNull(task);
+    task.run();
+  }
+
+  @Before
+  public void setUp() {
+    Plugin plugin = proxy(Plugin.class, false, opened);
+    inventory = new CustomInventory(plugin);
+    // the Bukkit inventory is acquired from a pool, since no server is running
+    InventoryPool pool = new InventoryPool();
+    CustomInventoryHolder holder = new CustomInventoryHolder(inventory);
+    holder.setInventory(proxy(Inventory.class, false, opened));
+    pool.release(holder, null, null);
+    inventory.setInventoryPool(pool);
+    Assert.assertTrue(inventory.reassignContent(
+        InventoryContentFactory.storageLayer(InventoryDimensions.ofHeight(1)), null));
+  }
+
+  @Test
+  public void testOpensAtMostMaxPerTick() {
+    CompletableFuture<Boolean> future = inventory.show(players(5, true), 2, nextTicks::add);
+    Assert.assertEquals(2, opened.get());
+    Assert.assertFalse(future.isDone());
+    tick();
+    Assert.assertEquals(4, opened.get());
+    Assert.assertFalse(future.isDone());
+    tick();
+    Assert.assertEquals(5, opened.get());
+    Assert.assertTrue(future.isDone());
+    Assert.assertFalse(future.join());
+    Assert.assertTrue(nextTicks.isEmpty());
+  }
+
+  @Test
+  public void testSkipsOfflineViewers() {
+    List<Player> players = players(2, false);
+    players.addAll(players(3, true));
+    CompletableFuture<Boolean> future = inventory.show(players, 2, nextTicks::add);
+    Assert.assertEquals(2, opened.get());
+    tick();
+    Assert.assertEquals(3, opened.get());
+    Assert.assertTrue(future.isDone());
+  }
+
+  @Test
+  public void testCompletesWithinTickIfAllFit() {
+    CompletableFuture<Boolean> future = inventory.show(players(3, true), 3, nextTicks::add);
+    Assert.assertEquals(3, opened.get());
+    Assert.assertTrue(future.isDone());
+    Assert.assertTrue(nextTicks.isEmpty());
+  }
+
+}